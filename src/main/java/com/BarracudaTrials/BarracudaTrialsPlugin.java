@@ -14,21 +14,32 @@ Initial date: 28/11/2025
 package com.BarracudaTrials;
 
 import com.BarracudaTrials.config.Config;
+import com.BarracudaTrials.config.ConfigSnapshot;
 import com.BarracudaTrials.model.Ship;
 import com.BarracudaTrials.model.Trial;
 import com.BarracudaTrials.model.Difficulty;
 import com.BarracudaTrials.model.RouteVariant;
 import com.BarracudaTrials.overlay.*;
-import com.BarracudaTrials.util.JubblyPillarData;
+import com.BarracudaTrials.route.ExternalRouteWatcher;
+import com.BarracudaTrials.route.PillarSet;
+import com.BarracudaTrials.route.RouteBundle;
+import com.BarracudaTrials.route.RouteKey;
+import com.BarracudaTrials.route.RouteRegistry;
+import com.BarracudaTrials.route.RouteRepository;
+import com.BarracudaTrials.util.RouteResources;
 import com.google.inject.Provides;
 import com.google.gson.Gson;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.events.BeforeRender;
 import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.events.GameTick;
 import net.runelite.api.events.VarbitChanged;
 import net.runelite.client.config.ConfigManager;
+import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
@@ -41,10 +52,8 @@ import net.runelite.api.events.GameObjectDespawned;
 import net.runelite.api.events.WorldViewUnloaded;
 
 import javax.inject.Inject;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 @Slf4j
 @PluginDescriptor(
@@ -78,8 +87,8 @@ public class BarracudaTrialsPlugin extends Plugin
     private static final int VARP_SAILING_BT_TRIAL_COMPLETED = 5000;
     private static final int VARBIT_LOST_SUPPLY_TRIGGER = 18524;
 
-    // Lost Supplies currently in the scene
-    private final Set<GameObject> lostSupplies = new HashSet<>();
+    // Lost Supplies currently in the scene, a list so overlays can walk it without an iterator
+    private final List<GameObject> lostSupplies = new ArrayList<>();
 
     // Speed boost
     private Ship ship;
@@ -94,10 +103,11 @@ public class BarracudaTrialsPlugin extends Plugin
     private static final int VARBIT_LOST_SUPPLY_TRIGGER_JJ2 = 18484;
     private static final int VARBIT_LOST_SUPPLY_TRIGGER_JJ3 = 18469;
 
-    private List<JubblyPillarData.PillarDef> jubblyPillarRoute = Collections.emptyList();
+    private PillarSet jubblyPillarRoute = PillarSet.EMPTY;
     private int currentJubblyPillarOrder = 0;
     private int jubblyRound = 0;
     private int jubblyPillarIndex = 1;
+    private boolean jubblyWavePending;
 
     private final java.util.Map<Integer, GameObject> jubblyPillarObjects = new java.util.HashMap<>();
 
@@ -220,7 +230,7 @@ public class BarracudaTrialsPlugin extends Plugin
         return currentJubblyPillarOrder;
     }
 
-    public Set<GameObject> getLostSupplies()
+    public List<GameObject> getLostSupplies()
     {
         return lostSupplies;
     }
@@ -239,6 +249,13 @@ public class BarracudaTrialsPlugin extends Plugin
     {
         return speedBoostTicksMax;
     }
+
+    // The boat the player is on, null before any of its objects have spawned
+    public Ship getShip()
+    {
+        return ship;
+    }
+
     @Inject
     private Gson gson;
 
@@ -248,35 +265,38 @@ public class BarracudaTrialsPlugin extends Plugin
     @Inject
     private Config config;
 
+    // Rebuilt on ConfigChanged, read by the overlays every frame
+    private volatile ConfigSnapshot configSnapshot;
+
     @Inject
     private OverlayManager overlayManager;
 
     @Inject
-    private RouteOverlay routeOverlay;
+    private RouteRepository routeRepository;
 
     @Inject
-    private LostSuppliesOverlay lostSuppliesOverlay;
+    private RouteRegistry routeRegistry;
 
     @Inject
-    private CrystalMoteOverlay crystalMoteOverlay;
+    private TrialOverlay trialOverlay;
 
     @Inject
-    private SpeedBoostOverlay speedBoostOverlay;
+    private TrialHighlightOverlay trialHighlightOverlay;
 
     @Inject
-    private RapidsOverlay rapidsOverlay;
+    private ExternalRouteWatcher externalRouteWatcher;
 
     @Inject
-    private JubblyPillarOverlay pillarOverlay;
+    private SceneTileCache sceneTileCache;
 
     @Inject
-    private JubblyBoatOverlay jubblyBoatOverlay;
+    private TileAreaCache tileAreaCache;
 
     @Inject
-    private JubblyPillarData jubblyPillarData;
+    private TrialModel trialModel;
 
     @Inject
-    private TemporBoatOverlay temporBoatOverlay;
+    private RenderBudget renderBudget;
 
     @Provides
     Config provideConfig(ConfigManager configManager)
@@ -284,17 +304,23 @@ public class BarracudaTrialsPlugin extends Plugin
         return configManager.getConfig(Config.class);
     }
 
+    public ConfigSnapshot getConfigSnapshot()
+    {
+        return configSnapshot;
+    }
+
     @Override
     protected void startUp()
     {
-        overlayManager.add(routeOverlay);
-        overlayManager.add(lostSuppliesOverlay);
-        overlayManager.add(crystalMoteOverlay);
-        overlayManager.add(speedBoostOverlay);
-        overlayManager.add(rapidsOverlay);
-        overlayManager.add(pillarOverlay);
-        overlayManager.add(jubblyBoatOverlay);
-        overlayManager.add(temporBoatOverlay);
+        updateConfigSnapshot();
+        renderBudget.reset();
+        trialModel.markDirty();
+
+        overlayManager.add(trialOverlay);
+        overlayManager.add(trialHighlightOverlay);
+
+        routeRepository.setRouteTolerance(configSnapshot.routeSimplifyTolerance());
+        updateExternalRoutes();
 
         ship = null;
         speedBoostTicksRemaining = 0;
@@ -304,26 +330,77 @@ public class BarracudaTrialsPlugin extends Plugin
     @Override
     protected void shutDown()
     {
-        overlayManager.remove(routeOverlay);
-        overlayManager.remove(lostSuppliesOverlay);
-        overlayManager.remove(crystalMoteOverlay);
-        overlayManager.remove(speedBoostOverlay);
-        overlayManager.remove(rapidsOverlay);
-        overlayManager.remove(pillarOverlay);
-        overlayManager.remove(jubblyBoatOverlay);
-        overlayManager.remove(temporBoatOverlay);
+        overlayManager.remove(trialOverlay);
+        overlayManager.remove(trialHighlightOverlay);
+
+        externalRouteWatcher.stop();
+        routeRepository.logLoadStats();
 
         ship = null;
         speedBoostTicksRemaining = 0;
         speedBoostTicksMax = 0;
     }
 
+    @Subscribe
+    public void onConfigChanged(ConfigChanged e)
+    {
+        if (!Config.GROUP.equals(e.getGroup()))
+        {
+            return;
+        }
+
+        updateConfigSnapshot();
+        trialModel.markDirty();
+
+        if ("externalRoutes".equals(e.getKey()))
+        {
+            updateExternalRoutes();
+        }
+        else if ("routeSimplifyTolerance".equals(e.getKey()))
+        {
+            routeRepository.setRouteTolerance(configSnapshot.routeSimplifyTolerance());
+        }
+    }
+
+    private void updateExternalRoutes()
+    {
+        boolean enabled = configSnapshot.externalRoutes();
+        routeRepository.setExternalRoutesEnabled(enabled);
+        if (enabled)
+        {
+            externalRouteWatcher.start(this::onExternalFoldersChanged);
+        }
+        else
+        {
+            externalRouteWatcher.stop();
+        }
+    }
+
+    @Subscribe
+    public void onBeforeRender(BeforeRender e)
+    {
+        trialModel.prepareIfDirty();
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged e)
+    {
+        if (e.getGameState() == GameState.LOADING)
+        {
+            sceneTileCache.invalidate();
+            tileAreaCache.invalidate();
+        }
+    }
+
     @Subscribe
     public void onWorldViewUnloaded(WorldViewUnloaded e)
     {
         if (e.getWorldView().isTopLevel())
         {
             lostSupplies.clear();
+            trialModel.markDirty();
+            sceneTileCache.invalidate();
+            tileAreaCache.invalidate();
         }
     }
 
@@ -334,6 +411,7 @@ public class BarracudaTrialsPlugin extends Plugin
 
         // Lost supplies
         lostSupplies.add(o);
+        trialModel.markDirty();
 
         if (client.getLocalPlayer() == null)
         {
@@ -383,6 +461,7 @@ public class BarracudaTrialsPlugin extends Plugin
                 o.getId() == gone.getId()
                         && o.getWorldLocation().equals(gone.getWorldLocation())
         );
+        trialModel.markDirty();
 
         if (ship != null)
         {
@@ -413,6 +492,14 @@ public class BarracudaTrialsPlugin extends Plugin
     @Subscribe
     public void onGameTick(GameTick event)
     {
+        // Route order, objectives and loaded routes can all change on a tick
+        trialModel.markDirty();
+
+        if (jubblyWavePending)
+        {
+            jubblyWavePending = !startJubblyWave();
+        }
+
         int timeStart = client.getVarpValue(VARP_SAILING_BT_TIME_START);
         int completedCount = client.getVarpValue(VARP_SAILING_BT_TRIAL_COMPLETED);
         int trialTypeVar = client.getVarbitValue(VARBIT_SAILING_BT_IN_TRIAL);
@@ -465,6 +552,12 @@ public class BarracudaTrialsPlugin extends Plugin
         // End/reset of trial
         if (trialRunning && lastTimeStart != 0 && timeStart == 0)
         {
+            if (currentTrial != null)
+            {
+                routeRepository.release(currentTrial);
+            }
+            routeRepository.logLoadStats();
+
             trialRunning = false;
             inTrial = false;
             currentTrial = null;
@@ -481,7 +574,8 @@ public class BarracudaTrialsPlugin extends Plugin
             speedBoostTicksRemaining = 0;
             speedBoostTicksMax = 0;
 
-            jubblyPillarRoute = Collections.emptyList();
+            jubblyPillarRoute = PillarSet.EMPTY;
+            jubblyWavePending = false;
             currentJubblyPillarOrder = 0;
             jubblyBoatHighlightActive = false;
             jubblyRound = 0;
@@ -505,6 +599,8 @@ public class BarracudaTrialsPlugin extends Plugin
     @Subscribe
     public void onVarbitChanged(VarbitChanged event)
     {
+        trialModel.markDirty();
+
         // Jubbly Jive pillars
         int varbitId = event.getVarbitId();
         int newVal = event.getValue();
@@ -514,9 +610,7 @@ public class BarracudaTrialsPlugin extends Plugin
                 && jubblyPillarIndex >= 0
                 && !jubblyPillarRoute.isEmpty())
         {
-            JubblyPillarData.PillarDef current = jubblyPillarRoute.get(jubblyPillarIndex);
-
-            if (varbitId == current.varbitId)
+            if (varbitId == jubblyPillarRoute.getVarbitId(jubblyPillarIndex))
             {
                 if (newVal >= 2)
                 {
@@ -536,11 +630,11 @@ public class BarracudaTrialsPlugin extends Plugin
 
                     if (jubblyPillarIndex < jubblyPillarRoute.size())
                     {
-                        JubblyPillarData.PillarDef next = jubblyPillarRoute.get(jubblyPillarIndex);
+                        int nextOrder = jubblyPillarRoute.getOrder(jubblyPillarIndex);
 
-                        if (next.order <= maxOrderForThisWave)
+                        if (nextOrder <= maxOrderForThisWave)
                         {
-                            currentJubblyPillarOrder = next.order;
+                            currentJubblyPillarOrder = nextOrder;
                         }
                         else
                         {
@@ -596,6 +690,8 @@ public class BarracudaTrialsPlugin extends Plugin
     @Subscribe
     public void onChatMessage(ChatMessage event)
     {
+        trialModel.markDirty();
+
         if (event.getType() != ChatMessageType.GAMEMESSAGE)
         {
             return;
@@ -608,17 +704,20 @@ public class BarracudaTrialsPlugin extends Plugin
         {
             currentTrial = Trial.GWENITH_GLIDE;
             inTrial = true;
+            preloadRoutes(Trial.GWENITH_GLIDE);
         }
         else if (message.equals("You prepare to begin the Jubbly Jive...") || message.equals("You reset your progress in the Jubbly Jive."))
         {
             currentTrial = Trial.JUBBLY_JIVE;
             inTrial = true;
+            preloadRoutes(Trial.JUBBLY_JIVE);
             jubblyBoatHighlightActive = true;
         }
         else if (message.equals("You prepare to begin the Tempor Tantrum...") || message.equals("You reset your progress in the Tempor Tantrum."))
         {
             currentTrial = Trial.TEMPOR_TANTRUM;
             inTrial = true;
+            preloadRoutes(Trial.TEMPOR_TANTRUM);
         }
 
         // Speed boost trigger messages
@@ -650,87 +749,8 @@ public class BarracudaTrialsPlugin extends Plugin
         {
             if (currentTrial == Trial.JUBBLY_JIVE)
             {
-                Difficulty diff = getCurrentDifficulty();
-                if (diff != null)
-                {
-                    RouteVariant variant;
-                    switch (diff)
-                    {
-                        case SWORDFISH:
-                            variant = config.jubblySwordfishVariant();
-                            break;
-                        case SHARK:
-                            variant = config.jubblySharkVariant();
-                            break;
-                        case MARLIN:
-                            variant = config.jubblyMarlinVariant();
-                            break;
-                        default:
-                            variant = RouteVariant.WIKI;
-                    }
-
-                    // Load the pillar route once
-                    if (jubblyPillarRoute.isEmpty())
-                    {
-                        jubblyPillarRoute = jubblyPillarData.getPillars(Trial.JUBBLY_JIVE, diff, variant);
-                    }
-
-                    if (jubblyPillarRoute.isEmpty())
-                    {
-                        currentJubblyPillarOrder = 0;
-                        jubblyPillarIndex = -1;
-                        return;
-                    }
-
-                    // Wave logic
-                    if (diff == Difficulty.MARLIN)
-                    {
-                        if (jubblyRound < 2)
-                        {
-                            jubblyRound++;
-                        }
-                    }
-                    else
-                    {
-                        jubblyRound = 1;
-                    }
-
-                    if (jubblyRound == 1)
-                    {
-                        jubblyPillarIndex = -1;
-                        for (int i = 0; i < jubblyPillarRoute.size(); i++)
-                        {
-                            if (jubblyPillarRoute.get(i).order >= 1 &&
-                                    jubblyPillarRoute.get(i).order <= 9)
-                            {
-                                jubblyPillarIndex = i;
-                                break;
-                            }
-                        }
-                    }
-                    else
-                    {
-                        jubblyPillarIndex = -1;
-                        for (int i = 0; i < jubblyPillarRoute.size(); i++)
-                        {
-                            if (jubblyPillarRoute.get(i).order >= 10 &&
-                                    jubblyPillarRoute.get(i).order <= 18)
-                            {
-                                jubblyPillarIndex = i;
-                                break;
-                            }
-                        }
-                    }
-
-                    if (jubblyPillarIndex >= 0)
-                    {
-                        currentJubblyPillarOrder = jubblyPillarRoute.get(jubblyPillarIndex).order;
-                    }
-                    else
-                    {
-                        currentJubblyPillarOrder = 0;
-                    }
-                }
+                // Retried from onGameTick rather than blocking the client thread on the load
+                jubblyWavePending = !startJubblyWave();
             }
         }
 
@@ -816,6 +836,142 @@ public class BarracudaTrialsPlugin extends Plugin
         }
     }
 
+    // Route data is parsed in the background as soon as the trial is known,
+    // before the difficulty is, so every difficulty is queued
+    private void preloadRoutes(Trial trial)
+    {
+        for (Difficulty difficulty : Difficulty.values())
+        {
+            routeRepository.preload(RouteKey.of(trial, difficulty, getActiveVariant(trial, difficulty)));
+        }
+    }
+
+    // Picks the first pillar of the new wave, false if the pillar route is still loading
+    private boolean startJubblyWave()
+    {
+        Difficulty diff = getCurrentDifficulty();
+        if (diff == null)
+        {
+            return true;
+        }
+
+        RouteVariant variant = getActiveVariant(Trial.JUBBLY_JIVE, diff);
+
+        // Load the pillar route once (preloaded at trial start, so this rarely waits)
+        if (jubblyPillarRoute.isEmpty())
+        {
+            RouteBundle bundle = routeRepository.getLoadedBundle(Trial.JUBBLY_JIVE, diff, variant);
+            if (bundle == null)
+            {
+                return false;
+            }
+            jubblyPillarRoute = bundle.getPillars();
+        }
+
+        if (jubblyPillarRoute.isEmpty())
+        {
+            currentJubblyPillarOrder = 0;
+            jubblyPillarIndex = -1;
+            return true;
+        }
+
+        // Wave logic
+        if (diff == Difficulty.MARLIN)
+        {
+            if (jubblyRound < 2)
+            {
+                jubblyRound++;
+            }
+        }
+        else
+        {
+            jubblyRound = 1;
+        }
+
+        if (jubblyRound == 1)
+        {
+            jubblyPillarIndex = -1;
+            for (int i = 0; i < jubblyPillarRoute.size(); i++)
+            {
+                if (jubblyPillarRoute.getOrder(i) >= 1 &&
+                        jubblyPillarRoute.getOrder(i) <= 9)
+                {
+                    jubblyPillarIndex = i;
+                    break;
+                }
+            }
+        }
+        else
+        {
+            jubblyPillarIndex = -1;
+            for (int i = 0; i < jubblyPillarRoute.size(); i++)
+            {
+                if (jubblyPillarRoute.getOrder(i) >= 10 &&
+                        jubblyPillarRoute.getOrder(i) <= 18)
+                {
+                    jubblyPillarIndex = i;
+                    break;
+                }
+            }
+        }
+
+        if (jubblyPillarIndex >= 0)
+        {
+            currentJubblyPillarOrder = jubblyPillarRoute.getOrder(jubblyPillarIndex);
+        }
+        else
+        {
+            currentJubblyPillarOrder = 0;
+        }
+
+        return true;
+    }
+
+    public RouteVariant getActiveVariant(Trial trial, Difficulty difficulty)
+    {
+        return configSnapshot.getActiveVariant(trial, difficulty);
+    }
+
+    // Takes a new config snapshot, its variants resolved before anything can read it
+    private void updateConfigSnapshot()
+    {
+        ConfigSnapshot snapshot = ConfigSnapshot.of(config);
+        snapshot.resolveVariants((trial, difficulty, key) -> resolveVariant(snapshot, trial, difficulty, key));
+        configSnapshot = snapshot;
+    }
+
+    // External route folders were added or removed, on the watcher thread
+    private void onExternalFoldersChanged()
+    {
+        ConfigSnapshot snapshot = configSnapshot;
+        snapshot.resolveVariants((trial, difficulty, key) -> resolveVariant(snapshot, trial, difficulty, key));
+        trialModel.markDirty();
+    }
+
+    private RouteVariant resolveVariant(ConfigSnapshot snapshot, Trial trial, Difficulty difficulty, String key)
+    {
+        // Loads the manifest, which registers every bundled variant
+        if (!routeRegistry.isAvailable())
+        {
+            // Nothing to check against, probe the resources
+            return RouteVariant.of(key);
+        }
+
+        RouteVariant variant = RouteVariant.find(key);
+        if (variant != null && routeRegistry.contains(trial, difficulty, variant))
+        {
+            return variant;
+        }
+
+        // Variants missing from the manifest can only come from external route folders
+        if (snapshot.externalRoutes() && RouteResources.externalVariantExists(trial, difficulty, key))
+        {
+            return RouteVariant.of(key);
+        }
+
+        return RouteVariant.WIKI;
+    }
+
     // Trial / Difficulty for overlays
     public Trial getCurrentTrial()
     {
@@ -1,17 +1,23 @@
 package com.BarracudaTrials.config;
 
 import com.BarracudaTrials.model.SpeedBoostDisplayMode;
-import com.BarracudaTrials.model.RouteVariant;
 import net.runelite.client.config.Alpha;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
 import net.runelite.client.config.ConfigSection;
+import net.runelite.client.config.Range;
+import net.runelite.client.config.Units;
 
 import java.awt.*;
 
-@ConfigGroup("barracudatrials")
+@ConfigGroup(Config.GROUP)
 public interface Config extends net.runelite.client.config.Config
 {
+    String GROUP = "barracudatrials";
+
+    // Tiles, larger values flatten whole segments into straight lines
+    int MAX_ROUTE_SIMPLIFY_TOLERANCE = 2;
+
     // Sections
     @ConfigSection(
             name = "General",
@@ -61,6 +67,14 @@ public interface Config extends net.runelite.client.config.Config
     )
     String theGwenithGlideSection = "theGwenithGlideSection";
 
+    @ConfigSection(
+            name = "Performance",
+            description = "Render time budget",
+            position = 6,
+            closedByDefault = true
+    )
+    String performanceSection = "performanceSection";
+
     // General config
     @ConfigItem(
             position = 0,
@@ -175,6 +189,31 @@ public interface Config extends net.runelite.client.config.Config
         return new Color(0, 255, 255, 160);
     }
 
+    @Range(max = MAX_ROUTE_SIMPLIFY_TOLERANCE)
+    @ConfigItem(
+            position = 2,
+            keyName = "routeSimplifyTolerance",
+            name = "Simplify Tolerance",
+            description = "Skip route points within this many tiles of a straight line, 0 draws every point (at most 2)",
+            section = routeSection
+    )
+    default double routeSimplifyTolerance()
+    {
+        return 0.5;
+    }
+
+    @ConfigItem(
+            position = 3,
+            keyName = "externalRoutes",
+            name = "Load External Routes",
+            description = "Load route files from .runelite/barracuda-trials/routes/<trial>/<difficulty>/<variant>/ and reload them when they change",
+            section = routeSection
+    )
+    default boolean externalRoutes()
+    {
+        return false;
+    }
+
     // Lost Supplies Config
     @ConfigItem(
             position = 0,
@@ -230,36 +269,36 @@ public interface Config extends net.runelite.client.config.Config
             position = 0,
             keyName = "temporSwordfishVariant",
             name = "Swordfish Route",
-            description = "Route variant for Tempor Tantrum (Swordfish)",
+            description = "Route variant folder for Tempor Tantrum (Swordfish), e.g. wiki",
             section = theTemporTantrumSection
     )
-    default RouteVariant temporSwordfishVariant()
+    default String temporSwordfishVariant()
     {
-        return RouteVariant.WIKI;
+        return "wiki";
     }
 
     @ConfigItem(
             position = 1,
             keyName = "temporSharkVariant",
             name = "Shark Route",
-            description = "Route variant for Tempor Tantrum (Shark)",
+            description = "Route variant folder for Tempor Tantrum (Shark), e.g. wiki",
             section = theTemporTantrumSection
     )
-    default RouteVariant temporSharkVariant()
+    default String temporSharkVariant()
     {
-        return RouteVariant.WIKI;
+        return "wiki";
     }
 
     @ConfigItem(
             position = 2,
             keyName = "temporMarlinVariant",
             name = "Marlin Route",
-            description = "Route variant for Tempor Tantrum (Marlin)",
+            description = "Route variant folder for Tempor Tantrum (Marlin), e.g. wiki",
             section = theTemporTantrumSection
     )
-    default RouteVariant temporMarlinVariant()
+    default String temporMarlinVariant()
     {
-        return RouteVariant.WIKI;
+        return "wiki";
     }
 
     // Jubbly Jive
@@ -267,36 +306,36 @@ public interface Config extends net.runelite.client.config.Config
             position = 0,
             keyName = "jubblySwordfishVariant",
             name = "Swordfish Route",
-            description = "Route variant for Jubbly Jive (Swordfish)",
+            description = "Route variant folder for Jubbly Jive (Swordfish), e.g. wiki",
             section = theJubblyJiveSection
     )
-    default RouteVariant jubblySwordfishVariant()
+    default String jubblySwordfishVariant()
     {
-        return RouteVariant.WIKI;
+        return "wiki";
     }
 
     @ConfigItem(
             position = 1,
             keyName = "jubblySharkVariant",
             name = "Shark Route",
-            description = "Route variant for Jubbly Jive (Shark)",
+            description = "Route variant folder for Jubbly Jive (Shark), e.g. wiki",
             section = theJubblyJiveSection
     )
-    default RouteVariant jubblySharkVariant()
+    default String jubblySharkVariant()
     {
-        return RouteVariant.WIKI;
+        return "wiki";
     }
 
     @ConfigItem(
             position = 2,
             keyName = "jubblyMarlinVariant",
             name = "Marlin Route",
-            description = "Route variant for Jubbly Jive (Marlin)",
+            description = "Route variant folder for Jubbly Jive (Marlin), e.g. wiki",
             section = theJubblyJiveSection
     )
-    default RouteVariant jubblyMarlinVariant()
+    default String jubblyMarlinVariant()
     {
-        return RouteVariant.WIKI;
+        return "wiki";
     }
 
     @ConfigItem(
@@ -328,36 +367,36 @@ public interface Config extends net.runelite.client.config.Config
             position = 0,
             keyName = "gwGlideSwordfishVariant",
             name = "Swordfish Route",
-            description = "Route variant for Gwenith Glide (Swordfish)",
+            description = "Route variant folder for Gwenith Glide (Swordfish), e.g. wiki",
             section = theGwenithGlideSection
     )
-    default RouteVariant gwGlideSwordfishVariant()
+    default String gwGlideSwordfishVariant()
     {
-        return RouteVariant.WIKI;
+        return "wiki";
     }
 
     @ConfigItem(
             position = 1,
             keyName = "gwGlideSharkVariant",
             name = "Shark Route",
-            description = "Route variant for Gwenith Glide (Shark)",
+            description = "Route variant folder for Gwenith Glide (Shark), e.g. wiki",
             section = theGwenithGlideSection
     )
-    default RouteVariant gwGlideSharkVariant()
+    default String gwGlideSharkVariant()
     {
-        return RouteVariant.WIKI;
+        return "wiki";
     }
 
     @ConfigItem(
             position = 2,
             keyName = "gwGlideMarlinVariant",
             name = "Marlin Route",
-            description = "Route variant for Gwenith Glide (Marlin)",
+            description = "Route variant folder for Gwenith Glide (Marlin), e.g. wiki",
             section = theGwenithGlideSection
     )
-    default RouteVariant gwGlideMarlinVariant()
+    default String gwGlideMarlinVariant()
     {
-        return RouteVariant.WIKI;
+        return "wiki";
     }
 
     @ConfigItem(
@@ -396,4 +435,19 @@ public interface Config extends net.runelite.client.config.Config
     {
         return new Color(166, 0, 255, 160);
     }
+
+    // Performance config
+    @Units(" µs")
+    @Range(max = 16000)
+    @ConfigItem(
+            position = 0,
+            keyName = "renderBudget",
+            name = "Render Budget",
+            description = "Time the overlays may take per frame before quality is lowered, 0 always draws at full quality",
+            section = performanceSection
+    )
+    default int renderBudget()
+    {
+        return 1000;
+    }
 }
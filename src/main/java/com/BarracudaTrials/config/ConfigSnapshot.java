@@ -0,0 +1,248 @@
+package com.BarracudaTrials.config;
+
+import com.BarracudaTrials.model.Difficulty;
+import com.BarracudaTrials.model.RouteVariant;
+import com.BarracudaTrials.model.SpeedBoostDisplayMode;
+import com.BarracudaTrials.model.Trial;
+
+import java.awt.*;
+
+/*
+The values of Config at one point in time. Every Config call goes through
+RuneLite's proxy and ConfigManager, so overlays read this instead; the plugin
+builds a new snapshot on startup and whenever the config group changes.
+Accessors have the same names as the Config items they copy.
+*/
+public final class ConfigSnapshot
+{
+    // General
+    private final boolean showSpeedBoostOverlay;
+    private final SpeedBoostDisplayMode speedBoostDisplayMode;
+    private final Color speedBoostColor;
+    private final boolean showRapids;
+    private final Color rapidsColor;
+    private final boolean showCollectBoat;
+    private final Color collectBoatColor;
+
+    // Route
+    private final boolean showRoute;
+    private final Color routeColor;
+    private final double routeSimplifyTolerance;
+    private final boolean externalRoutes;
+
+    // Lost supplies
+    private final boolean highlightLostSupplies;
+    private final boolean lostSuppliesSmallHighlight;
+    private final boolean showLostSupplyNumbers;
+    private final Color lostSuppliesOutlineColor;
+
+    // Jubbly Jive
+    private final boolean showPillars;
+    private final boolean showPillarsRange;
+
+    // Gwenith Glide
+    private final boolean showCrystalMotes;
+    private final boolean crystalMotesSmallHighlight;
+    private final Color crystalMoteColor;
+
+    // Performance
+    private final int renderBudget;
+
+    // Configured route variant key per trial and difficulty, null if left blank
+    private final String[][] variants = new String[Trial.values().length][Difficulty.values().length];
+
+    // Variant drawn per trial and difficulty, replaced as a whole by resolveVariants()
+    private volatile RouteVariant[][] activeVariants;
+
+    private ConfigSnapshot(Config config)
+    {
+        showSpeedBoostOverlay = config.showSpeedBoostOverlay();
+        speedBoostDisplayMode = config.speedBoostDisplayMode();
+        speedBoostColor = config.speedBoostColor();
+        showRapids = config.showRapids();
+        rapidsColor = config.rapidsColor();
+        showCollectBoat = config.showCollectBoat();
+        collectBoatColor = config.collectBoatColor();
+
+        showRoute = config.showRoute();
+        routeColor = config.routeColor();
+        // Also bounds values edited into the profile by hand
+        routeSimplifyTolerance = Math.max(0, Math.min(Config.MAX_ROUTE_SIMPLIFY_TOLERANCE, config.routeSimplifyTolerance()));
+        externalRoutes = config.externalRoutes();
+
+        highlightLostSupplies = config.highlightLostSupplies();
+        lostSuppliesSmallHighlight = config.lostSuppliesSmallHighlight();
+        showLostSupplyNumbers = config.showLostSupplyNumbers();
+        lostSuppliesOutlineColor = config.lostSuppliesOutlineColor();
+
+        showPillars = config.showPillars();
+        showPillarsRange = config.showPillarsRange();
+
+        showCrystalMotes = config.showCrystalMotes();
+        crystalMotesSmallHighlight = config.crystalMotesSmallHighlight();
+        crystalMoteColor = config.crystalMoteColor();
+
+        renderBudget = config.renderBudget();
+
+        setVariants(Trial.TEMPOR_TANTRUM,
+                config.temporSwordfishVariant(), config.temporSharkVariant(), config.temporMarlinVariant());
+        setVariants(Trial.JUBBLY_JIVE,
+                config.jubblySwordfishVariant(), config.jubblySharkVariant(), config.jubblyMarlinVariant());
+        setVariants(Trial.GWENITH_GLIDE,
+                config.gwGlideSwordfishVariant(), config.gwGlideSharkVariant(), config.gwGlideMarlinVariant());
+    }
+
+    public static ConfigSnapshot of(Config config)
+    {
+        return new ConfigSnapshot(config);
+    }
+
+    private void setVariants(Trial trial, String swordfish, String shark, String marlin)
+    {
+        String[] row = variants[trial.ordinal()];
+        row[Difficulty.SWORDFISH.ordinal()] = RouteVariant.normalize(swordfish);
+        row[Difficulty.SHARK.ordinal()] = RouteVariant.normalize(shark);
+        row[Difficulty.MARLIN.ordinal()] = RouteVariant.normalize(marlin);
+    }
+
+    public boolean showSpeedBoostOverlay()
+    {
+        return showSpeedBoostOverlay;
+    }
+
+    public SpeedBoostDisplayMode speedBoostDisplayMode()
+    {
+        return speedBoostDisplayMode;
+    }
+
+    public Color speedBoostColor()
+    {
+        return speedBoostColor;
+    }
+
+    public boolean showRapids()
+    {
+        return showRapids;
+    }
+
+    public Color rapidsColor()
+    {
+        return rapidsColor;
+    }
+
+    public boolean showCollectBoat()
+    {
+        return showCollectBoat;
+    }
+
+    public Color collectBoatColor()
+    {
+        return collectBoatColor;
+    }
+
+    public boolean showRoute()
+    {
+        return showRoute;
+    }
+
+    public Color routeColor()
+    {
+        return routeColor;
+    }
+
+    public double routeSimplifyTolerance()
+    {
+        return routeSimplifyTolerance;
+    }
+
+    public boolean externalRoutes()
+    {
+        return externalRoutes;
+    }
+
+    public boolean highlightLostSupplies()
+    {
+        return highlightLostSupplies;
+    }
+
+    public boolean lostSuppliesSmallHighlight()
+    {
+        return lostSuppliesSmallHighlight;
+    }
+
+    public boolean showLostSupplyNumbers()
+    {
+        return showLostSupplyNumbers;
+    }
+
+    public Color lostSuppliesOutlineColor()
+    {
+        return lostSuppliesOutlineColor;
+    }
+
+    public boolean showPillars()
+    {
+        return showPillars;
+    }
+
+    public boolean showPillarsRange()
+    {
+        return showPillarsRange;
+    }
+
+    public boolean showCrystalMotes()
+    {
+        return showCrystalMotes;
+    }
+
+    public boolean crystalMotesSmallHighlight()
+    {
+        return crystalMotesSmallHighlight;
+    }
+
+    public Color crystalMoteColor()
+    {
+        return crystalMoteColor;
+    }
+
+    public int renderBudget()
+    {
+        return renderBudget;
+    }
+
+    // The normalized variant key set for the trial and difficulty, or null if none is
+    public String getVariantKey(Trial trial, Difficulty difficulty)
+    {
+        return variants[trial.ordinal()][difficulty.ordinal()];
+    }
+
+    // Whether a configured key names a real route depends on the manifest and the
+    // external route folders, so the plugin resolves every key once here instead of per lookup
+    public void resolveVariants(VariantResolver resolver)
+    {
+        RouteVariant[][] resolved = new RouteVariant[variants.length][];
+        for (Trial trial : Trial.values())
+        {
+            RouteVariant[] row = new RouteVariant[variants[trial.ordinal()].length];
+            for (Difficulty difficulty : Difficulty.values())
+            {
+                String key = getVariantKey(trial, difficulty);
+                row[difficulty.ordinal()] = key == null ? RouteVariant.WIKI : resolver.resolve(trial, difficulty, key);
+            }
+            resolved[trial.ordinal()] = row;
+        }
+        activeVariants = resolved;
+    }
+
+    // The variant to draw, the wiki route until resolveVariants() has run
+    public RouteVariant getActiveVariant(Trial trial, Difficulty difficulty)
+    {
+        RouteVariant[][] resolved = activeVariants;
+        return resolved == null ? RouteVariant.WIKI : resolved[trial.ordinal()][difficulty.ordinal()];
+    }
+
+    public interface VariantResolver
+    {
+        RouteVariant resolve(Trial trial, Difficulty difficulty, String key);
+    }
+}
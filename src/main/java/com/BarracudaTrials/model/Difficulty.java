@@ -10,4 +10,16 @@ public enum Difficulty {
     Difficulty(String key) { this.key = key; }
 
     public String getKey() { return key; }
+
+    public static Difficulty fromKey(String key)
+    {
+        for (Difficulty value : values())
+        {
+            if (value.key.equals(key))
+            {
+                return value;
+            }
+        }
+        return null;
+    }
 }
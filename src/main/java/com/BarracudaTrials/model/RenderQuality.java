@@ -0,0 +1,31 @@
+package com.BarracudaTrials.model;
+
+/*
+Overlay quality levels, highest first. When the overlays go over the render
+budget the quality steps down one level at a time, in this order, and steps
+back up when there is time to spare. Each level keeps the reductions of the
+levels above it.
+*/
+public enum RenderQuality
+{
+    FULL("Full"),
+    NO_PILLAR_RANGE("No pillar range"),
+    SMALL_TILES("Small tiles"),
+    THIN_ROUTE("Thin route"),
+    NO_LABELS("No labels");
+
+    private final String name;
+
+    RenderQuality(String name) { this.name = name; }
+
+    public boolean isAtLeast(RenderQuality reduction)
+    {
+        return ordinal() >= reduction.ordinal();
+    }
+
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
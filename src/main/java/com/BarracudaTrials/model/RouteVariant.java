@@ -1,11 +1,52 @@
 package com.BarracudaTrials.model;
 
-public enum RouteVariant {
-    WIKI("wiki");
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+A route variant is the folder name under /routes/<trial>/<difficulty>/. Variants
+are registered at runtime from the route manifest (and external route folders),
+so a new variant only needs new route files. Instances are interned, so == works.
+Config values only look variants up, so a typo never registers a variant.
+*/
+public final class RouteVariant
+{
+    private static final ConcurrentMap<String, RouteVariant> VARIANTS = new ConcurrentHashMap<>();
+
+    public static final RouteVariant WIKI = of("wiki");
 
     private final String key;
 
-    RouteVariant(String key) { this.key = key; }
+    private RouteVariant(String key) { this.key = key; }
 
     public String getKey() { return key; }
+
+    // Registers the variant if it hasn't been seen yet, only for variants that have route files
+    public static RouteVariant of(String key)
+    {
+        return VARIANTS.computeIfAbsent(normalize(key), RouteVariant::new);
+    }
+
+    // Returns null if no variant with this key has been registered
+    public static RouteVariant find(String key)
+    {
+        return VARIANTS.get(key);
+    }
+
+    // Folder name for a config value, null for an empty one
+    public static String normalize(String key)
+    {
+        if (key == null || key.trim().isEmpty())
+        {
+            return null;
+        }
+        return key.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString()
+    {
+        return key;
+    }
 }
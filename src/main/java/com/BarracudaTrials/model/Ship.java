@@ -4,6 +4,8 @@ import lombok.Getter;
 import lombok.Setter;
 import net.runelite.api.Client;
 import net.runelite.api.GameObject;
+import net.runelite.api.WorldEntity;
+import net.runelite.api.WorldView;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 
@@ -80,6 +82,29 @@ public class Ship
         return hull.getLocalLocation();
     }
 
+    /*
+    Hull position in the top-level scene. The hull belongs to the boat's own
+    world view, so getCenterLocalPoint is relative to the boat and can't be
+    compared with scene points. Null if the boat isn't in the top-level scene.
+    */
+    public LocalPoint getCenterMainWorldPoint(Client client)
+    {
+        LocalPoint lp = getCenterLocalPoint();
+        if (lp == null)
+        {
+            return null;
+        }
+
+        WorldView topLevel = client.getTopLevelWorldView();
+        if (lp.getWorldView() == topLevel.getId())
+        {
+            return lp;
+        }
+
+        WorldEntity boat = topLevel.worldEntities().byIndex(lp.getWorldView());
+        return boat == null ? null : boat.transformToMainWorld(lp);
+    }
+
     public WorldPoint getCenterWorldPoint(Client client)
     {
         LocalPoint lp = getCenterLocalPoint();
@@ -13,4 +13,16 @@ public enum Trial {
     Trial(String key) { this.key = key; }
 
     public String getKey() { return key; }
+
+    public static Trial fromKey(String key)
+    {
+        for (Trial value : values())
+        {
+            if (value.key.equals(key))
+            {
+                return value;
+            }
+        }
+        return null;
+    }
 }
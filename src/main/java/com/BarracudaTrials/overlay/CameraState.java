@@ -0,0 +1,77 @@
+package com.BarracudaTrials.overlay;
+
+import net.runelite.api.Client;
+import net.runelite.api.WorldView;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/*
+Everything a local to canvas projection depends on: camera position, pitch, yaw,
+zoom, viewport and scene base. getVersion() changes whenever any of it changes,
+so overlays can key their projected points and polygons on it and reuse the
+previous frame's geometry while the camera is still. Only used from the client
+thread.
+*/
+@Singleton
+public class CameraState
+{
+    private final Client client;
+
+    private int cameraX;
+    private int cameraY;
+    private int cameraZ;
+    private int pitch;
+    private int yaw;
+    private int scale;
+    private int viewportX;
+    private int viewportY;
+    private int viewportWidth;
+    private int viewportHeight;
+    private int baseX;
+    private int baseY;
+    private int plane;
+
+    private int version;
+
+    @Inject
+    public CameraState(Client client)
+    {
+        this.client = client;
+    }
+
+    public int getVersion()
+    {
+        WorldView wv = client.getTopLevelWorldView();
+        if (cameraX != client.getCameraX()
+                || cameraY != client.getCameraY()
+                || cameraZ != client.getCameraZ()
+                || pitch != client.getCameraPitch()
+                || yaw != client.getCameraYaw()
+                || scale != client.getScale()
+                || viewportX != client.getViewportXOffset()
+                || viewportY != client.getViewportYOffset()
+                || viewportWidth != client.getViewportWidth()
+                || viewportHeight != client.getViewportHeight()
+                || baseX != wv.getBaseX()
+                || baseY != wv.getBaseY()
+                || plane != wv.getPlane())
+        {
+            cameraX = client.getCameraX();
+            cameraY = client.getCameraY();
+            cameraZ = client.getCameraZ();
+            pitch = client.getCameraPitch();
+            yaw = client.getCameraYaw();
+            scale = client.getScale();
+            viewportX = client.getViewportXOffset();
+            viewportY = client.getViewportYOffset();
+            viewportWidth = client.getViewportWidth();
+            viewportHeight = client.getViewportHeight();
+            baseX = wv.getBaseX();
+            baseY = wv.getBaseY();
+            plane = wv.getPlane();
+            version++;
+        }
+        return version;
+    }
+}
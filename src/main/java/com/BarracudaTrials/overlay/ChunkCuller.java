@@ -0,0 +1,84 @@
+package com.BarracudaTrials.overlay;
+
+import net.runelite.api.Client;
+import net.runelite.api.Perspective;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/*
+Rejects SceneTileSet chunks that can't be on screen, so layers skip their
+points in bulk when reprojecting. A chunk is the box spanned by its points'
+local bounds and heights. The eight corners are projected and the box is
+culled if their canvas bounds miss the viewport. A corner behind the camera
+keeps the chunk, the projection can't bound it. Only used from the client thread.
+*/
+@Singleton
+public class ChunkCuller
+{
+    // Canvas pixels around the viewport, for strokes on the edge
+    private static final int VIEWPORT_MARGIN = 2;
+
+    private final Client client;
+
+    private final float[] cornerX = new float[8];
+    private final float[] cornerY = new float[8];
+    private final float[] cornerZ = new float[8];
+    private final int[] canvasX = new int[8];
+    private final int[] canvasY = new int[8];
+
+    @Inject
+    public ChunkCuller(Client client)
+    {
+        this.client = client;
+    }
+
+    // pad widens the box on the ground by that many local units, for tile areas drawn around a point
+    public boolean isVisible(SceneTileSet scene, int chunk, int pad)
+    {
+        if (!scene.isChunkInScene(chunk))
+        {
+            return false;
+        }
+
+        int minX = scene.getChunkMinX(chunk) - pad;
+        int minY = scene.getChunkMinY(chunk) - pad;
+        int maxX = scene.getChunkMaxX(chunk) + pad;
+        int maxY = scene.getChunkMaxY(chunk) + pad;
+        int minZ = scene.getChunkMinHeight(chunk);
+        int maxZ = scene.getChunkMaxHeight(chunk);
+        for (int i = 0; i < 8; i++)
+        {
+            cornerX[i] = (i & 1) == 0 ? minX : maxX;
+            cornerY[i] = (i & 2) == 0 ? minY : maxY;
+            cornerZ[i] = (i & 4) == 0 ? minZ : maxZ;
+        }
+
+        Perspective.modelToCanvas(client, 8, 0, 0, 0, 0, cornerX, cornerY, cornerZ, canvasX, canvasY);
+
+        int left = Integer.MAX_VALUE;
+        int top = Integer.MAX_VALUE;
+        int right = Integer.MIN_VALUE;
+        int bottom = Integer.MIN_VALUE;
+        for (int i = 0; i < 8; i++)
+        {
+            // Behind the camera is reported as Integer.MIN_VALUE
+            if (canvasX[i] == Integer.MIN_VALUE)
+            {
+                return true;
+            }
+
+            left = Math.min(left, canvasX[i]);
+            top = Math.min(top, canvasY[i]);
+            right = Math.max(right, canvasX[i]);
+            bottom = Math.max(bottom, canvasY[i]);
+        }
+
+        int viewportX = client.getViewportXOffset();
+        int viewportY = client.getViewportYOffset();
+        return right >= viewportX - VIEWPORT_MARGIN
+                && bottom >= viewportY - VIEWPORT_MARGIN
+                && left <= viewportX + client.getViewportWidth() + VIEWPORT_MARGIN
+                && top <= viewportY + client.getViewportHeight() + VIEWPORT_MARGIN;
+    }
+}
@@ -0,0 +1,52 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.config.ConfigSnapshot;
+import com.BarracudaTrials.model.RenderQuality;
+import com.BarracudaTrials.model.Trial;
+import com.BarracudaTrials.route.RouteBundle;
+import com.BarracudaTrials.route.TileSet;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.*;
+
+@Singleton
+public class CrystalMoteLayer extends TileMarkerLayer
+{
+    private static final Color DEFAULT_OUTLINE = new Color(166, 0, 255, 160);
+
+    @Inject
+    public CrystalMoteLayer(SceneTileCache sceneTileCache,
+                            TileAreaCache tileAreaCache,
+                            ChunkCuller chunkCuller)
+    {
+        super(sceneTileCache, tileAreaCache, chunkCuller);
+    }
+
+    @Override
+    boolean isShown(TrialFrame frame)
+    {
+        return frame.getConfig().showCrystalMotes() && frame.getTrial() == Trial.GWENITH_GLIDE;
+    }
+
+    @Override
+    TileSet getMarkers(RouteBundle bundle)
+    {
+        return bundle.getCrystalMotes();
+    }
+
+    @Override
+    int getTileRadius(TrialFrame frame)
+    {
+        boolean small = frame.getConfig().crystalMotesSmallHighlight()
+                || frame.getQuality().isAtLeast(RenderQuality.SMALL_TILES);
+        return small ? 1 : 5;
+    }
+
+    @Override
+    Color getOutline(ConfigSnapshot config)
+    {
+        Color outline = config.crystalMoteColor();
+        return outline != null ? outline : DEFAULT_OUTLINE;
+    }
+}
@@ -0,0 +1,92 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.BarracudaTrialsPlugin;
+import com.BarracudaTrials.config.ConfigSnapshot;
+import com.BarracudaTrials.model.RenderQuality;
+import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.Perspective;
+import net.runelite.api.coords.LocalPoint;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.*;
+
+@Singleton
+public class JubblyBoatLayer implements TrialLayer
+{
+    private static final Color DEFAULT_COLOR = new Color(255, 215, 0, 160);
+
+    private final Client client;
+    private final BarracudaTrialsPlugin plugin;
+
+    // Projected hull and label position, reused until the camera or boat changes
+    private int projectedVersion = -1;
+    private GameObject projectedBoat;
+    private Shape hull;
+    private net.runelite.api.Point textLocation;
+
+    @Inject
+    public JubblyBoatLayer(Client client,
+                           BarracudaTrialsPlugin plugin)
+    {
+        this.client = client;
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void render(Graphics2D graphics, TrialFrame frame)
+    {
+        ConfigSnapshot config = frame.getConfig();
+        if (!plugin.shouldHighlightJubblyBoat())
+        {
+            return;
+        }
+
+        if (!config.showCollectBoat())
+        {
+            return;
+        }
+
+        GameObject boat = plugin.getJubblyBoatObject();
+        if (boat == null)
+        {
+            return;
+        }
+
+        int version = frame.getCameraVersion();
+        if (version != projectedVersion || boat != projectedBoat)
+        {
+            hull = boat.getConvexHull();
+            LocalPoint lp = boat.getLocalLocation();
+            textLocation = lp == null ? null
+                    : Perspective.getCanvasTextLocation(client, graphics, lp, "Collect", 0);
+            projectedVersion = version;
+            projectedBoat = boat;
+        }
+
+        if (hull == null)
+        {
+            return;
+        }
+
+        Color outline = config.collectBoatColor();
+        if (outline == null)
+        {
+            outline = DEFAULT_COLOR;
+        }
+
+        graphics.setStroke(OverlayStyle.OUTLINE_STROKE);
+        graphics.setColor(OverlayStyle.FILL);
+        graphics.fill(hull);
+        graphics.setColor(outline);
+        graphics.draw(hull);
+
+        // Collect text
+        if (textLocation != null && !frame.getQuality().isAtLeast(RenderQuality.NO_LABELS))
+        {
+            graphics.setColor(outline);
+            graphics.drawString("Collect", textLocation.getX(), textLocation.getY());
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.config.ConfigSnapshot;
+import com.BarracudaTrials.model.RenderQuality;
+import com.BarracudaTrials.model.Trial;
+import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.Perspective;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.*;
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Singleton
+public class JubblyPillarLayer implements TrialLayer
+{
+    private final Client client;
+    private final LabelCache labelCache;
+
+    private static final int JUBBLY_PILLAR_RANGE_RADIUS_TILES = 15;
+
+    // Projected geometry of the target pillar, reused until the camera or target changes
+    private int projectedVersion = -1;
+    private GameObject projectedPillar;
+    private int projectedOrder;
+    private Shape hull;
+    private LocalPoint centerLp;
+    private net.runelite.api.Point textLocation;
+
+    // Range outline corners for the current pillar, rebuilt when the pillar moves
+    private int outlineCenterX = -1;
+    private int outlineCenterY = -1;
+    private final float[] outlineX = new float[RANGE_OUTLINE[0].length];
+    private final float[] outlineY = new float[RANGE_OUTLINE[0].length];
+    private final float[] outlineZ = new float[RANGE_OUTLINE[0].length];
+    private final boolean[] outlineInScene = new boolean[RANGE_OUTLINE[0].length];
+
+    // Projected range outline, rebuilt with the rest of the pillar geometry
+    private final int[] outlineCanvasX = new int[RANGE_OUTLINE[0].length];
+    private final int[] outlineCanvasY = new int[RANGE_OUTLINE[0].length];
+    private final Path2D.Float rangeOutlinePath = new Path2D.Float();
+    private boolean rangeProjected;
+
+    static boolean isInRangeShape(int dx, int dy, int radius)
+    {
+        int ax = Math.abs(dx);
+        int ay = Math.abs(dy);
+
+        if (ax > radius || ay > radius)
+        {
+            return false;
+        }
+
+        // base
+        int dist2 = ax * ax + ay * ay;
+        if (dist2 <= radius * radius)
+        {
+            return true;
+        }
+
+        // vertical
+        if (ax <= 1 && ay <= radius)
+        {
+            return true;
+        }
+        // horizontal
+        if (ay <= 1 && ax <= radius)
+        {
+            return true;
+        }
+
+        return false;
+    }
+
+    // Corners of the range shape's boundary, see buildRangeOutline
+    private static final int[][] RANGE_OUTLINE = buildRangeOutline(JUBBLY_PILLAR_RANGE_RADIUS_TILES);
+
+    /*
+    Outline of the union of all tiles in the range shape, as one closed loop of
+    tile corners. Corner (x, y) is the south-west corner of tile (x, y) relative
+    to the pillar, and straight runs are merged into a single edge. Drawing this
+    gives the same outline as unioning every tile polygon into an Area.
+    */
+    static int[][] buildRangeOutline(int radius)
+    {
+        // Boundary edges of the shape, counter-clockwise, keyed by start corner
+        Map<Long, int[]> edges = new HashMap<>();
+        for (int dy = -radius; dy <= radius; dy++)
+        {
+            for (int dx = -radius; dx <= radius; dx++)
+            {
+                if (!isInRangeShape(dx, dy, radius))
+                {
+                    continue;
+                }
+
+                if (!isInRangeShape(dx, dy - 1, radius))
+                {
+                    edges.put(corner(dx, dy), new int[]{dx + 1, dy});
+                }
+                if (!isInRangeShape(dx + 1, dy, radius))
+                {
+                    edges.put(corner(dx + 1, dy), new int[]{dx + 1, dy + 1});
+                }
+                if (!isInRangeShape(dx, dy + 1, radius))
+                {
+                    edges.put(corner(dx + 1, dy + 1), new int[]{dx, dy + 1});
+                }
+                if (!isInRangeShape(dx - 1, dy, radius))
+                {
+                    edges.put(corner(dx, dy + 1), new int[]{dx, dy});
+                }
+            }
+        }
+
+        // Walk the loop from the bottom row, which always has a boundary edge
+        List<int[]> loop = new ArrayList<>();
+        int[] start = {0, -radius};
+        int[] current = start;
+        do
+        {
+            loop.add(current);
+            current = edges.get(corner(current[0], current[1]));
+        }
+        while (current[0] != start[0] || current[1] != start[1]);
+
+        // Keep only the corners where the direction changes
+        List<int[]> corners = new ArrayList<>();
+        int n = loop.size();
+        for (int i = 0; i < n; i++)
+        {
+            int[] prev = loop.get((i + n - 1) % n);
+            int[] cur = loop.get(i);
+            int[] next = loop.get((i + 1) % n);
+            if ((cur[0] - prev[0]) != (next[0] - cur[0]) || (cur[1] - prev[1]) != (next[1] - cur[1]))
+            {
+                corners.add(cur);
+            }
+        }
+
+        int[][] outline = new int[2][corners.size()];
+        for (int i = 0; i < corners.size(); i++)
+        {
+            outline[0][i] = corners.get(i)[0];
+            outline[1][i] = corners.get(i)[1];
+        }
+        return outline;
+    }
+
+    private static long corner(int x, int y)
+    {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    // Indexed by pillar index (1-7), the same numbering as the plugin's pillar objects
+    private static final Color[] PILLAR_COLORS = {
+            null,
+            new Color(0xC8C628),
+            new Color(0x752622),
+            new Color(0x213C64),
+            new Color(0xA77422),
+            new Color(0x589889),
+            new Color(0x8F5594),
+            new Color(0xA69FA9),
+    };
+    private static final Color DEFAULT_PILLAR_COLOR = new Color(0xFFCC00);
+
+    private static final Color[] RANGE_COLORS = withAlpha(PILLAR_COLORS, 160);
+    private static final Color DEFAULT_RANGE_COLOR = withAlpha(DEFAULT_PILLAR_COLOR, 160);
+
+    private static Color[] withAlpha(Color[] colors, int alpha)
+    {
+        Color[] result = new Color[colors.length];
+        for (int i = 0; i < colors.length; i++)
+        {
+            result[i] = colors[i] == null ? null : withAlpha(colors[i], alpha);
+        }
+        return result;
+    }
+
+    private static Color withAlpha(Color color, int alpha)
+    {
+        return new Color(color.getRed(), color.getGreen(), color.getBlue(), alpha);
+    }
+
+    @Inject
+    public JubblyPillarLayer(Client client,
+                             LabelCache labelCache)
+    {
+        this.client = client;
+        this.labelCache = labelCache;
+    }
+
+    @Override
+    public void render(Graphics2D graphics, TrialFrame frame)
+    {
+        ConfigSnapshot config = frame.getConfig();
+        if (!config.showPillars() || frame.getTrial() != Trial.JUBBLY_JIVE)
+        {
+            return;
+        }
+
+        // Null until toads have been collected
+        GameObject pillarObj = frame.getPillarObject();
+        if (pillarObj == null)
+        {
+            return;
+        }
+
+        int pillar = frame.getPillar();
+        int order = frame.getPillarOrder();
+        int version = frame.getCameraVersion();
+        if (version != projectedVersion || pillarObj != projectedPillar || order != projectedOrder)
+        {
+            if (pillarObj != projectedPillar)
+            {
+                // Respawned after a scene load, the ground heights may differ
+                outlineCenterX = -1;
+            }
+
+            hull = pillarObj.getConvexHull();
+            centerLp = pillarObj.getLocalLocation();
+            rangeProjected = false;
+            textLocation = null;
+            projectedVersion = version;
+            projectedPillar = pillarObj;
+            projectedOrder = order;
+        }
+
+        if (hull == null)
+        {
+            return;
+        }
+
+        boolean known = pillar > 0 && pillar < PILLAR_COLORS.length;
+        Color outline = known ? PILLAR_COLORS[pillar] : DEFAULT_PILLAR_COLOR;
+
+        graphics.setStroke(OverlayStyle.OUTLINE_STROKE);
+
+        //Pillar
+        graphics.setColor(OverlayStyle.FILL);
+        graphics.fill(hull);
+        graphics.setColor(outline);
+        graphics.draw(hull);
+
+        // Range circle
+        RenderQuality quality = frame.getQuality();
+        if (centerLp != null && config.showPillarsRange() && !quality.isAtLeast(RenderQuality.NO_PILLAR_RANGE))
+        {
+            if (!rangeProjected)
+            {
+                projectRangeOutline(centerLp);
+                rangeProjected = true;
+            }
+
+            graphics.setColor(known ? RANGE_COLORS[pillar] : DEFAULT_RANGE_COLOR);
+            graphics.draw(rangeOutlinePath);
+        }
+
+        // Order number
+        if (quality.isAtLeast(RenderQuality.NO_LABELS))
+        {
+            return;
+        }
+
+        String text = OverlayStyle.label(order);
+        if (textLocation == null)
+        {
+            textLocation = pillarObj.getCanvasTextLocation(graphics, text, 0);
+        }
+        if (textLocation != null)
+        {
+            labelCache.draw(graphics, text, textLocation.getX(), textLocation.getY(), Color.WHITE, false);
+        }
+    }
+
+    // Edges with a corner outside the scene or behind the camera are left out
+    private void projectRangeOutline(LocalPoint centerLp)
+    {
+        if (centerLp.getX() != outlineCenterX || centerLp.getY() != outlineCenterY)
+        {
+            updateOutlineCorners(centerLp);
+        }
+
+        int n = outlineX.length;
+        Perspective.modelToCanvas(client, n, 0, 0, 0, 0, outlineX, outlineY, outlineZ, outlineCanvasX, outlineCanvasY);
+
+        rangeOutlinePath.reset();
+        boolean drawing = false;
+        for (int i = 0; i < n; i++)
+        {
+            int j = (i + 1) % n;
+            if (!isProjected(i) || !isProjected(j))
+            {
+                drawing = false;
+                continue;
+            }
+
+            if (!drawing)
+            {
+                rangeOutlinePath.moveTo(outlineCanvasX[i], outlineCanvasY[i]);
+                drawing = true;
+            }
+            rangeOutlinePath.lineTo(outlineCanvasX[j], outlineCanvasY[j]);
+        }
+    }
+
+    private boolean isProjected(int i)
+    {
+        return outlineInScene[i] && outlineCanvasX[i] != Integer.MIN_VALUE;
+    }
+
+    // Local position and ground height of each outline corner, only changes when the pillar does
+    private void updateOutlineCorners(LocalPoint centerLp)
+    {
+        WorldView wv = client.getTopLevelWorldView();
+        int maxX = wv.getSizeX() * Perspective.LOCAL_TILE_SIZE;
+        int maxY = wv.getSizeY() * Perspective.LOCAL_TILE_SIZE;
+
+        for (int i = 0; i < outlineX.length; i++)
+        {
+            int x = centerLp.getX() + RANGE_OUTLINE[0][i] * Perspective.LOCAL_TILE_SIZE - Perspective.LOCAL_HALF_TILE_SIZE;
+            int y = centerLp.getY() + RANGE_OUTLINE[1][i] * Perspective.LOCAL_TILE_SIZE - Perspective.LOCAL_HALF_TILE_SIZE;
+
+            outlineX[i] = x;
+            outlineY[i] = y;
+            outlineInScene[i] = x >= 0 && y >= 0 && x < maxX && y < maxY;
+            outlineZ[i] = outlineInScene[i]
+                    ? Perspective.getTileHeight(client, new LocalPoint(x, y, wv), wv.getPlane())
+                    : 0;
+        }
+
+        outlineCenterX = centerLp.getX();
+        outlineCenterY = centerLp.getY();
+    }
+}
@@ -0,0 +1,97 @@
+package com.BarracudaTrials.overlay;
+
+import javax.inject.Singleton;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/*
+Marker labels rendered once into small images and blitted afterwards, instead
+of laying the text out for every marker on every frame. Keyed by text, font,
+colour and shadow. Lookups probe a fixed table without allocating. The table
+is cleared when half full, since only a few dozen labels are ever on screen.
+Only used from the client thread.
+*/
+@Singleton
+public class LabelCache
+{
+    // Power of two
+    private static final int CAPACITY = 256;
+
+    private final String[] texts = new String[CAPACITY];
+    private final Font[] fonts = new Font[CAPACITY];
+    private final Color[] colors = new Color[CAPACITY];
+    private final boolean[] shadows = new boolean[CAPACITY];
+    private final BufferedImage[] images = new BufferedImage[CAPACITY];
+    private final int[] ascents = new int[CAPACITY];
+    private int size;
+
+    /*
+    Draws the text with its baseline at (x, y), like drawString. The shadow is
+    the one OverlayUtil.renderTextLocation draws, black and one pixel down and
+    to the right.
+    */
+    public void draw(Graphics2D graphics, String text, int x, int y, Color color, boolean shadow)
+    {
+        Font font = graphics.getFont();
+        int slot = (31 * (31 * text.hashCode() + font.hashCode()) + color.getRGB() + (shadow ? 1 : 0)) & (CAPACITY - 1);
+        while (texts[slot] != null)
+        {
+            if (shadows[slot] == shadow && texts[slot].equals(text) && fonts[slot].equals(font) && colors[slot].equals(color))
+            {
+                graphics.drawImage(images[slot], x, y - ascents[slot], null);
+                return;
+            }
+            slot = (slot + 1) & (CAPACITY - 1);
+        }
+
+        if (size >= CAPACITY / 2)
+        {
+            clear();
+            draw(graphics, text, x, y, color, shadow);
+            return;
+        }
+
+        FontMetrics metrics = graphics.getFontMetrics(font);
+        int ascent = metrics.getAscent();
+        BufferedImage image = new BufferedImage(
+                Math.max(1, metrics.stringWidth(text) + 1),
+                Math.max(1, ascent + metrics.getDescent() + 1),
+                BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g = image.createGraphics();
+        g.setFont(font);
+        Object antialias = graphics.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+        if (antialias != null)
+        {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, antialias);
+        }
+        if (shadow)
+        {
+            g.setColor(Color.BLACK);
+            g.drawString(text, 1, ascent + 1);
+        }
+        g.setColor(color);
+        g.drawString(text, 0, ascent);
+        g.dispose();
+
+        texts[slot] = text;
+        fonts[slot] = font;
+        colors[slot] = color;
+        shadows[slot] = shadow;
+        images[slot] = image;
+        ascents[slot] = ascent;
+        size++;
+
+        graphics.drawImage(image, x, y - ascent, null);
+    }
+
+    private void clear()
+    {
+        Arrays.fill(texts, null);
+        Arrays.fill(fonts, null);
+        Arrays.fill(colors, null);
+        Arrays.fill(images, null);
+        size = 0;
+    }
+}
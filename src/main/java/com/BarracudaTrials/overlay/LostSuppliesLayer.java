@@ -0,0 +1,116 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.config.ConfigSnapshot;
+import com.BarracudaTrials.model.RenderQuality;
+import com.BarracudaTrials.route.RouteBundle;
+import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.Perspective;
+import net.runelite.api.coords.LocalPoint;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.*;
+import java.util.Arrays;
+
+@Singleton
+public class LostSuppliesLayer implements TrialLayer
+{
+    private final Client client;
+    private final TileAreaCache tileAreaCache;
+    private final LabelCache labelCache;
+
+    // Label positions by index in the prepared supply list, reused until the camera or the list changes
+    // (crate areas come from TileAreaCache)
+    private net.runelite.api.Point[] textLocations = new net.runelite.api.Point[0];
+    private boolean[] textProjected = new boolean[0];
+    private int projectedVersion = -1;
+    private int projectedPrepared = -1;
+    private int projectedRadius;
+
+    private static final Color DEFAULT_OUTLINE = new Color(255, 215, 0, 160);
+
+    @Inject
+    public LostSuppliesLayer(Client client,
+                             TileAreaCache tileAreaCache,
+                             LabelCache labelCache)
+    {
+        this.client = client;
+        this.tileAreaCache = tileAreaCache;
+        this.labelCache = labelCache;
+    }
+
+    @Override
+    public void render(Graphics2D g, TrialFrame frame)
+    {
+        ConfigSnapshot config = frame.getConfig();
+        RouteBundle bundle = frame.getBundle();
+        if (!config.highlightLostSupplies() || bundle == null)
+        {
+            return;
+        }
+
+        RenderQuality quality = frame.getQuality();
+        int tileRadius = config.lostSuppliesSmallHighlight() || quality.isAtLeast(RenderQuality.SMALL_TILES) ? 1 : 5;
+        boolean showNumbers = config.showLostSupplyNumbers() && !quality.isAtLeast(RenderQuality.NO_LABELS);
+
+        int version = frame.getCameraVersion();
+        int prepared = frame.getPreparedVersion();
+        if (version != projectedVersion || prepared != projectedPrepared || tileRadius != projectedRadius)
+        {
+            if (textLocations.length < frame.getSupplyCount())
+            {
+                textLocations = new net.runelite.api.Point[frame.getSupplyCount()];
+                textProjected = new boolean[frame.getSupplyCount()];
+            }
+            Arrays.fill(textLocations, null);
+            Arrays.fill(textProjected, false);
+            projectedVersion = version;
+            projectedPrepared = prepared;
+            projectedRadius = tileRadius;
+        }
+
+        for (int i = 0; i < frame.getSupplyCount(); i++)
+        {
+            GameObject o = frame.getSupply(i);
+            LocalPoint lp = o.getLocalLocation();
+            Polygon poly = lp == null ? null : tileAreaCache.get(lp, tileRadius, version);
+            if (poly == null)
+            {
+                continue;
+            }
+
+            Color outline = config.lostSuppliesOutlineColor();
+            if (outline == null)
+            {
+                outline = DEFAULT_OUTLINE;
+            }
+
+            g.setColor(OverlayStyle.FILL);
+            g.fill(poly);
+
+            // Same as OverlayUtil.renderPolygon, without its per-call stroke and colour
+            g.setColor(outline);
+            g.setStroke(OverlayStyle.OUTLINE_STROKE);
+            g.draw(poly);
+            g.setColor(OverlayStyle.POLYGON_FILL);
+            g.fill(poly);
+
+            if (showNumbers)
+            {
+                String text = frame.getSupplyLabel(i);
+                if (!textProjected[i])
+                {
+                    textLocations[i] = Perspective.getCanvasTextLocation(client, g, lp, text, 0);
+                    textProjected[i] = true;
+                }
+
+                net.runelite.api.Point textLoc = textLocations[i];
+                if (textLoc != null)
+                {
+                    labelCache.draw(g, text, textLoc.getX(), textLoc.getY(), Color.WHITE, true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.BarracudaTrials.overlay;
+
+import java.awt.*;
+
+/*
+Shared drawing constants. Overlays render every frame, so colours, strokes and
+labels used there are created once here instead of per render call.
+*/
+final class OverlayStyle
+{
+    static final Stroke OUTLINE_STROKE = new BasicStroke(2.0f);
+
+    // Translucent fill behind tile and hull outlines
+    static final Color FILL = new Color(0, 0, 0, 70);
+
+    // Second fill RuneLite's OverlayUtil.renderPolygon adds under the outline
+    static final Color POLYGON_FILL = new Color(0, 0, 0, 50);
+
+    private static final String[] NUMBERS = new String[256];
+
+    static
+    {
+        for (int i = 0; i < NUMBERS.length; i++)
+        {
+            NUMBERS[i] = Integer.toString(i);
+        }
+    }
+
+    private OverlayStyle()
+    {
+    }
+
+    // Label text for the small numbers drawn on route markers
+    static String label(int number)
+    {
+        return number >= 0 && number < NUMBERS.length ? NUMBERS[number] : Integer.toString(number);
+    }
+}
@@ -0,0 +1,161 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.model.Difficulty;
+import com.BarracudaTrials.model.RouteVariant;
+import com.BarracudaTrials.model.Trial;
+import com.BarracudaTrials.route.RouteBundle;
+import net.runelite.api.GameObject;
+
+import java.util.Arrays;
+
+/*
+What the layers draw, selected by TrialModel when the game state changes:
+the resolved route, the lost supplies still to collect in the current order
+the current pillar target and where the route's detail rings are centred.
+Filled in place, the arrays only grow.
+*/
+final class PreparedTrial
+{
+    // The detail rings move with the ship in steps of 4 tiles, not on every local unit
+    static final int ANCHOR_SHIFT = 9;
+    static final int NO_ANCHOR = Integer.MIN_VALUE;
+
+    // Differs from the previous prepared state's, so layers can key per-supply caches on it
+    private int version;
+
+    private Trial trial;
+    private Difficulty difficulty;
+    private RouteVariant variant;
+    private RouteBundle bundle;
+    private int routeOrder;
+
+    // Uncollected supplies of the current order and their number labels
+    private GameObject[] supplies = new GameObject[16];
+    private String[] supplyLabels = new String[16];
+    private int supplyCount;
+
+    // Current Jubbly Jive target, pillarObject is null if there is none
+    private GameObject pillarObject;
+    private int pillar;
+    private int pillarOrder;
+
+    // Ship hull position in the top-level scene >> ANCHOR_SHIFT, NO_ANCHOR if there is no ship
+    private int routeAnchorX = NO_ANCHOR;
+    private int routeAnchorY = NO_ANCHOR;
+
+    void setVersion(int version)
+    {
+        this.version = version;
+    }
+
+    void setRoute(Trial trial, Difficulty difficulty, RouteVariant variant, RouteBundle bundle, int routeOrder)
+    {
+        this.trial = trial;
+        this.difficulty = difficulty;
+        this.variant = variant;
+        this.bundle = bundle;
+        this.routeOrder = routeOrder;
+    }
+
+    void clearSupplies()
+    {
+        Arrays.fill(supplies, 0, supplyCount, null);
+        supplyCount = 0;
+    }
+
+    void addSupply(GameObject object, String label)
+    {
+        if (supplyCount == supplies.length)
+        {
+            supplies = Arrays.copyOf(supplies, supplyCount * 2);
+            supplyLabels = Arrays.copyOf(supplyLabels, supplyCount * 2);
+        }
+
+        supplies[supplyCount] = object;
+        supplyLabels[supplyCount] = label;
+        supplyCount++;
+    }
+
+    void setPillar(GameObject pillarObject, int pillar, int pillarOrder)
+    {
+        this.pillarObject = pillarObject;
+        this.pillar = pillar;
+        this.pillarOrder = pillarOrder;
+    }
+
+    void setRouteAnchor(int routeAnchorX, int routeAnchorY)
+    {
+        this.routeAnchorX = routeAnchorX;
+        this.routeAnchorY = routeAnchorY;
+    }
+
+    int getVersion()
+    {
+        return version;
+    }
+
+    Trial getTrial()
+    {
+        return trial;
+    }
+
+    Difficulty getDifficulty()
+    {
+        return difficulty;
+    }
+
+    RouteVariant getVariant()
+    {
+        return variant;
+    }
+
+    RouteBundle getBundle()
+    {
+        return bundle;
+    }
+
+    int getRouteOrder()
+    {
+        return routeOrder;
+    }
+
+    int getSupplyCount()
+    {
+        return supplyCount;
+    }
+
+    GameObject getSupply(int i)
+    {
+        return supplies[i];
+    }
+
+    String getSupplyLabel(int i)
+    {
+        return supplyLabels[i];
+    }
+
+    GameObject getPillarObject()
+    {
+        return pillarObject;
+    }
+
+    int getPillar()
+    {
+        return pillar;
+    }
+
+    int getPillarOrder()
+    {
+        return pillarOrder;
+    }
+
+    int getRouteAnchorX()
+    {
+        return routeAnchorX;
+    }
+
+    int getRouteAnchorY()
+    {
+        return routeAnchorY;
+    }
+}
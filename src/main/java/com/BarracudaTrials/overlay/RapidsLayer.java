@@ -0,0 +1,50 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.config.ConfigSnapshot;
+import com.BarracudaTrials.model.Trial;
+import com.BarracudaTrials.route.RouteBundle;
+import com.BarracudaTrials.route.TileSet;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.*;
+
+@Singleton
+public class RapidsLayer extends TileMarkerLayer
+{
+    private static final Color DEFAULT_OUTLINE = new Color(166, 0, 255, 160);
+
+    @Inject
+    public RapidsLayer(SceneTileCache sceneTileCache,
+                       TileAreaCache tileAreaCache,
+                       ChunkCuller chunkCuller)
+    {
+        super(sceneTileCache, tileAreaCache, chunkCuller);
+    }
+
+    @Override
+    boolean isShown(TrialFrame frame)
+    {
+        Trial trial = frame.getTrial();
+        return frame.getConfig().showRapids() && (trial == Trial.JUBBLY_JIVE || trial == Trial.TEMPOR_TANTRUM);
+    }
+
+    @Override
+    TileSet getMarkers(RouteBundle bundle)
+    {
+        return bundle.getRapids();
+    }
+
+    @Override
+    int getTileRadius(TrialFrame frame)
+    {
+        return 3;
+    }
+
+    @Override
+    Color getOutline(ConfigSnapshot config)
+    {
+        Color outline = config.rapidsColor();
+        return outline != null ? outline : DEFAULT_OUTLINE;
+    }
+}
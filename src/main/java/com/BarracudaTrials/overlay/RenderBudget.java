@@ -0,0 +1,133 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.model.RenderQuality;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.util.Arrays;
+
+/*
+Keeps the trial layers within the configured per-frame render budget.
+TrialOverlay reports how long each layer took; when the running average frame
+time is over budget the quality drops one RenderQuality level, and it goes back
+up one level after a sustained stretch well under budget. Lowering reacts
+within SETTLE_FRAMES, raising waits RESTORE_FRAMES, so a level that only just
+fits doesn't flip back and forth. If a raise has to be undone before it has
+held for RESTORE_FRAMES, the wait before the next raise doubles, and it goes
+back to RESTORE_FRAMES once full quality has held for MAX_RESTORE_FRAMES. Level
+changes are logged at debug level. Only used from the client thread.
+*/
+@Slf4j
+@Singleton
+public class RenderBudget
+{
+    // Weight of the newest frame in the running averages
+    private static final double SMOOTHING = 0.05;
+
+    // Frames to let the average settle after a change before lowering again
+    private static final int SETTLE_FRAMES = 30;
+
+    // Frames the average must stay under RESTORE_FRACTION of the budget before raising
+    private static final int RESTORE_FRAMES = 300;
+    private static final double RESTORE_FRACTION = 0.5;
+
+    // Longest wait before raising after repeated failed raises
+    private static final int MAX_RESTORE_FRAMES = 16 * RESTORE_FRAMES;
+
+    private static final RenderQuality[] LEVELS = RenderQuality.values();
+
+    private double[] layerAverages = new double[0];
+    private double frameAverage;
+    private int framesSinceChange;
+    private int framesWithHeadroom;
+    private int restoreFrames = RESTORE_FRAMES;
+    private boolean lastChangeRaised;
+    private RenderQuality quality = RenderQuality.FULL;
+
+    public RenderQuality getQuality()
+    {
+        return quality;
+    }
+
+    // Back to full quality with no history, e.g. on startup
+    public void reset()
+    {
+        Arrays.fill(layerAverages, 0);
+        frameAverage = 0;
+        framesWithHeadroom = 0;
+        restoreFrames = RESTORE_FRAMES;
+        lastChangeRaised = false;
+        setQuality(RenderQuality.FULL);
+    }
+
+    /*
+    Records one frame, layerNanos holding each layer's render time, and picks
+    the quality for the next frame. A budget of 0 or less turns the governor
+    off.
+    */
+    void update(long[] layerNanos, int budgetMicros)
+    {
+        if (layerAverages.length != layerNanos.length)
+        {
+            layerAverages = new double[layerNanos.length];
+        }
+
+        long total = 0;
+        for (int i = 0; i < layerNanos.length; i++)
+        {
+            layerAverages[i] += (layerNanos[i] - layerAverages[i]) * SMOOTHING;
+            total += layerNanos[i];
+        }
+        frameAverage += (total - frameAverage) * SMOOTHING;
+        framesSinceChange++;
+
+        // Full quality has held long enough that whatever made raises fail has passed
+        if (quality == RenderQuality.FULL && framesSinceChange >= MAX_RESTORE_FRAMES)
+        {
+            restoreFrames = RESTORE_FRAMES;
+        }
+
+        if (budgetMicros <= 0)
+        {
+            if (quality != RenderQuality.FULL)
+            {
+                setQuality(RenderQuality.FULL);
+            }
+            return;
+        }
+
+        double budget = budgetMicros * 1000.0;
+        int level = quality.ordinal();
+
+        framesWithHeadroom = frameAverage < budget * RESTORE_FRACTION ? framesWithHeadroom + 1 : 0;
+
+        if (frameAverage > budget && level < LEVELS.length - 1 && framesSinceChange >= SETTLE_FRAMES)
+        {
+            if (lastChangeRaised && framesSinceChange < RESTORE_FRAMES)
+            {
+                // The raised level didn't fit, wait longer before trying it again
+                restoreFrames = Math.min(restoreFrames * 2, MAX_RESTORE_FRAMES);
+            }
+            setQuality(LEVELS[level + 1]);
+            lastChangeRaised = false;
+        }
+        else if (level > 0 && framesWithHeadroom >= restoreFrames)
+        {
+            setQuality(LEVELS[level - 1]);
+            lastChangeRaised = true;
+        }
+    }
+
+    private void setQuality(RenderQuality quality)
+    {
+        if (log.isDebugEnabled())
+        {
+            log.debug("Render quality {}, frame {} µs, layers {} µs", quality, Math.round(frameAverage / 1000),
+                    Arrays.toString(Arrays.stream(layerAverages).mapToLong(nanos -> Math.round(nanos / 1000)).toArray()));
+        }
+
+        this.quality = quality;
+        framesSinceChange = 0;
+        framesWithHeadroom = 0;
+    }
+}
@@ -0,0 +1,278 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.config.ConfigSnapshot;
+import com.BarracudaTrials.model.RenderQuality;
+import com.BarracudaTrials.route.RouteBundle;
+import com.BarracudaTrials.route.TileSet;
+import net.runelite.api.Client;
+import net.runelite.api.Perspective;
+import net.runelite.api.coords.LocalPoint;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.*;
+import java.awt.geom.Path2D;
+
+@Singleton
+public class RouteLayer implements TrialLayer
+{
+    // Round joins, the route is one path and sharp turns would otherwise get miter spikes
+    private static final Stroke ROUTE_STROKE = new BasicStroke(2.0f, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_ROUND);
+    private static final Stroke THIN_ROUTE_STROKE = new BasicStroke(1.0f, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_ROUND);
+    private static final Color DEFAULT_ROUTE_COLOR = new Color(0, 255, 255, 160);
+
+    // Every point within this many tiles of the ship, one detail level coarser each time the distance doubles
+    private static final int FULL_DETAIL_TILES = 16;
+
+    // Most points projected per frame, coarser levels are used until the segment fits
+    private static final int MAX_VERTICES = 256;
+
+    private final Client client;
+    private final SceneTileCache sceneTileCache;
+    private final ChunkCuller chunkCuller;
+
+    // Projected points of the drawn segment, reused until the camera or segment changes
+    private int projectedVersion = -1;
+    private SceneTileSet projectedScene;
+    private int projectedStart;
+    private int projectedEnd;
+    private int projectedAnchorX = PreparedTrial.NO_ANCHOR;
+    private int projectedAnchorY = PreparedTrial.NO_ANCHOR;
+    private int[] canvasX = new int[0];
+    private int[] canvasY = new int[0];
+    private int canvasCount;
+
+    // Local coordinates handed to modelToCanvas, x/y are the ground plane and z is height
+    private float[] localX = new float[0];
+    private float[] localY = new float[0];
+    private float[] localZ = new float[0];
+
+    // The visible part of the segment as one path, rebuilt with the projection
+    private final Path2D.Float path = new Path2D.Float();
+
+    @Inject
+    public RouteLayer(Client client,
+                      SceneTileCache sceneTileCache,
+                      ChunkCuller chunkCuller)
+    {
+        this.client = client;
+        this.sceneTileCache = sceneTileCache;
+        this.chunkCuller = chunkCuller;
+    }
+
+    @Override
+    public void render(Graphics2D graphics, TrialFrame frame)
+    {
+        ConfigSnapshot config = frame.getConfig();
+        RouteBundle bundle = frame.getBundle();
+        if (!config.showRoute() || bundle == null)
+        {
+            return;
+        }
+
+        TileSet route = bundle.getRoute();
+        int order = frame.getRouteOrder();
+        int start = route.start(order);
+        int end = route.end(order);
+        if (end - start < 2)
+        {
+            return;
+        }
+
+        graphics.setStroke(frame.getQuality().isAtLeast(RenderQuality.THIN_ROUTE) ? THIN_ROUTE_STROKE : ROUTE_STROKE);
+
+        Color routeColor = config.routeColor();
+        if (routeColor == null)
+        {
+            routeColor = DEFAULT_ROUTE_COLOR;
+        }
+        graphics.setColor(routeColor);
+
+        SceneTileSet scene = sceneTileCache.get(route);
+        int version = frame.getCameraVersion();
+
+        int anchorX = frame.getRouteAnchorX();
+        int anchorY = frame.getRouteAnchorY();
+
+        if (version != projectedVersion || scene != projectedScene || start != projectedStart || end != projectedEnd
+                || anchorX != projectedAnchorX || anchorY != projectedAnchorY)
+        {
+            project(route, scene, order, anchorX, anchorY);
+            buildPath();
+            projectedVersion = version;
+            projectedScene = scene;
+            projectedStart = start;
+            projectedEnd = end;
+            projectedAnchorX = anchorX;
+            projectedAnchorY = anchorY;
+        }
+
+        graphics.draw(path);
+    }
+
+    /*
+    Projects the whole segment with one modelToCanvas call into the reused
+    buffers. Points outside the scene or behind the camera are skipped and the
+    line joins their neighbours. Chunks off screen only keep their first and
+    last point: the line between them stays inside the chunk's box, and the
+    lines to the neighbouring chunks are still drawn.
+
+    Away from the ship only points kept at the detail level for their distance
+    are projected. If that is still more than MAX_VERTICES every point's level
+    is raised by one, and past the coarsest level every nth point is kept.
+    */
+    private void project(TileSet route, SceneTileSet scene, int order, int anchorX, int anchorY)
+    {
+        int capacity = route.end(order) - route.start(order);
+        if (canvasX.length < capacity)
+        {
+            canvasX = new int[capacity];
+            canvasY = new int[capacity];
+            localX = new float[capacity];
+            localY = new float[capacity];
+            localZ = new float[capacity];
+        }
+
+        int count = select(route, scene, order, anchorX, anchorY, 0);
+        for (int coarser = 1; count > MAX_VERTICES && coarser <= TileSet.DETAIL_LEVELS; coarser++)
+        {
+            count = select(route, scene, order, anchorX, anchorY, coarser);
+        }
+        if (count > MAX_VERTICES)
+        {
+            count = decimate(count);
+        }
+
+        Perspective.modelToCanvas(client, count, 0, 0, 0, 0, localX, localY, localZ, canvasX, canvasY);
+
+        // Compact in place, behind the camera is reported as Integer.MIN_VALUE
+        canvasCount = 0;
+        for (int i = 0; i < count; i++)
+        {
+            if (canvasX[i] == Integer.MIN_VALUE)
+            {
+                continue;
+            }
+
+            canvasX[canvasCount] = canvasX[i];
+            canvasY[canvasCount] = canvasY[i];
+            canvasCount++;
+        }
+    }
+
+    // Fills the local buffers with the points to draw and returns how many there are
+    private int select(TileSet route, SceneTileSet scene, int order, int anchorX, int anchorY, int coarser)
+    {
+        int count = 0;
+        for (int c = route.firstChunk(order); c < route.endChunk(order); c++)
+        {
+            if (!scene.isChunkInScene(c))
+            {
+                continue;
+            }
+
+            int first = route.chunkStart(c);
+            int last = route.chunkEnd(c) - 1;
+            boolean visible = chunkCuller.isVisible(scene, c, 0);
+            for (int i = first; i <= last; i++)
+            {
+                LocalPoint lp = scene.getLocalPoint(i);
+                if (lp == null || (!visible && i != first && i != last))
+                {
+                    continue;
+                }
+
+                if (i != first && i != last
+                        && route.getDetail(i) < Math.min(TileSet.DETAIL_LEVELS, detailLevel(lp, anchorX, anchorY) + coarser))
+                {
+                    continue;
+                }
+
+                localX[count] = lp.getX();
+                localY[count] = lp.getY();
+                localZ[count] = scene.getHeight(i);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Detail level for a point's distance from the ship, 0 (every point) if the ship isn't known
+    private static int detailLevel(LocalPoint lp, int anchorX, int anchorY)
+    {
+        if (anchorX == PreparedTrial.NO_ANCHOR)
+        {
+            return 0;
+        }
+
+        int dx = Math.abs((lp.getX() >> PreparedTrial.ANCHOR_SHIFT) - anchorX) << PreparedTrial.ANCHOR_SHIFT;
+        int dy = Math.abs((lp.getY() >> PreparedTrial.ANCHOR_SHIFT) - anchorY) << PreparedTrial.ANCHOR_SHIFT;
+        int distance = Math.max(dx, dy);
+
+        int level = 0;
+        int ring = FULL_DETAIL_TILES * Perspective.LOCAL_TILE_SIZE;
+        while (level < TileSet.DETAIL_LEVELS && distance >= ring)
+        {
+            level++;
+            ring <<= 1;
+        }
+        return level;
+    }
+
+    // Keeps every nth point of the buffers, and the last one, so at most MAX_VERTICES remain
+    private int decimate(int count)
+    {
+        int step = (count + MAX_VERTICES - 2) / (MAX_VERTICES - 1);
+        int kept = 0;
+        for (int i = 0; i < count; i += step)
+        {
+            localX[kept] = localX[i];
+            localY[kept] = localY[i];
+            localZ[kept] = localZ[i];
+            kept++;
+        }
+        if ((count - 1) % step != 0)
+        {
+            localX[kept] = localX[count - 1];
+            localY[kept] = localY[count - 1];
+            localZ[kept] = localZ[count - 1];
+            kept++;
+        }
+        return kept;
+    }
+
+    // Lines with both ends past the same viewport edge are skipped, the path resumes after them
+    private void buildPath()
+    {
+        path.reset();
+
+        // Padded by the stroke width so lines along the edge aren't cut off
+        int minX = client.getViewportXOffset() - 2;
+        int minY = client.getViewportYOffset() - 2;
+        int maxX = client.getViewportXOffset() + client.getViewportWidth() + 2;
+        int maxY = client.getViewportYOffset() + client.getViewportHeight() + 2;
+
+        boolean drawing = false;
+        for (int i = 1; i < canvasCount; i++)
+        {
+            int x0 = canvasX[i - 1];
+            int y0 = canvasY[i - 1];
+            int x1 = canvasX[i];
+            int y1 = canvasY[i];
+
+            if ((x0 < minX && x1 < minX) || (x0 > maxX && x1 > maxX)
+                    || (y0 < minY && y1 < minY) || (y0 > maxY && y1 > maxY))
+            {
+                drawing = false;
+                continue;
+            }
+
+            if (!drawing)
+            {
+                path.moveTo(x0, y0);
+                drawing = true;
+            }
+            path.lineTo(x1, y1);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.route.TileSet;
+import net.runelite.api.Client;
+import net.runelite.api.WorldView;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/*
+Scene-relative copies of the active route data. Local coordinates only change
+when the scene base or plane changes, so each TileSet is converted once per
+scene instead of once per point per frame. Only used from the client thread.
+*/
+@Singleton
+public class SceneTileCache
+{
+    private final Client client;
+
+    // TileSet has identity equality, evicted or reloaded bundles are dropped by the GC
+    private final Map<TileSet, SceneTileSet> sets = new WeakHashMap<>();
+
+    private int baseX = -1;
+    private int baseY = -1;
+    private int plane = -1;
+
+    @Inject
+    public SceneTileCache(Client client)
+    {
+        this.client = client;
+    }
+
+    public SceneTileSet get(TileSet tiles)
+    {
+        WorldView wv = client.getTopLevelWorldView();
+        if (wv.getBaseX() != baseX || wv.getBaseY() != baseY || wv.getPlane() != plane)
+        {
+            sets.clear();
+            baseX = wv.getBaseX();
+            baseY = wv.getBaseY();
+            plane = wv.getPlane();
+        }
+
+        SceneTileSet scene = sets.get(tiles);
+        if (scene == null)
+        {
+            scene = SceneTileSet.build(client, wv, tiles);
+            sets.put(tiles, scene);
+        }
+        return scene;
+    }
+
+    // Scene reloaded, tile heights may have changed even if the base didn't
+    public void invalidate()
+    {
+        sets.clear();
+        baseX = -1;
+        baseY = -1;
+        plane = -1;
+    }
+}
@@ -0,0 +1,148 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.route.TileSet;
+import net.runelite.api.Client;
+import net.runelite.api.Perspective;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+
+/*
+A TileSet converted to the current scene: one LocalPoint and tile height per
+point, built once per scene base by SceneTileCache. Points outside the loaded
+scene or on another plane have no LocalPoint. Chunks whose world bounds miss
+the scene are skipped whole, the rest get local bounds for view culling.
+*/
+public final class SceneTileSet
+{
+    private final LocalPoint[] points;
+    private final int[] heights;
+
+    // Local bounds of each chunk's points in the scene, inclusive, heights are negative upwards
+    private final boolean[] chunkInScene;
+    private final int[] chunkMinX;
+    private final int[] chunkMinY;
+    private final int[] chunkMaxX;
+    private final int[] chunkMaxY;
+    private final int[] chunkMinHeight;
+    private final int[] chunkMaxHeight;
+
+    private SceneTileSet(int count, int chunks)
+    {
+        points = new LocalPoint[count];
+        heights = new int[count];
+        chunkInScene = new boolean[chunks];
+        chunkMinX = new int[chunks];
+        chunkMinY = new int[chunks];
+        chunkMaxX = new int[chunks];
+        chunkMaxY = new int[chunks];
+        chunkMinHeight = new int[chunks];
+        chunkMaxHeight = new int[chunks];
+    }
+
+    static SceneTileSet build(Client client, WorldView wv, TileSet tiles)
+    {
+        int chunks = tiles.getChunkCount();
+        SceneTileSet scene = new SceneTileSet(tiles.size(), chunks);
+
+        int plane = wv.getPlane();
+        int minX = wv.getBaseX();
+        int minY = wv.getBaseY();
+        int maxX = minX + wv.getSizeX() - 1;
+        int maxY = minY + wv.getSizeY() - 1;
+        for (int c = 0; c < chunks; c++)
+        {
+            if (tiles.getChunkMaxX(c) < minX || tiles.getChunkMinX(c) > maxX
+                    || tiles.getChunkMaxY(c) < minY || tiles.getChunkMinY(c) > maxY)
+            {
+                continue;
+            }
+
+            for (int i = tiles.chunkStart(c); i < tiles.chunkEnd(c); i++)
+            {
+                if (tiles.getPlane(i) != plane)
+                {
+                    continue;
+                }
+
+                LocalPoint lp = LocalPoint.fromWorld(wv, tiles.getX(i), tiles.getY(i));
+                if (lp == null)
+                {
+                    continue;
+                }
+
+                scene.points[i] = lp;
+                scene.heights[i] = Perspective.getTileHeight(client, lp, plane);
+                scene.include(c, lp, scene.heights[i]);
+            }
+        }
+
+        return scene;
+    }
+
+    private void include(int c, LocalPoint lp, int height)
+    {
+        if (!chunkInScene[c])
+        {
+            chunkInScene[c] = true;
+            chunkMinX[c] = chunkMaxX[c] = lp.getX();
+            chunkMinY[c] = chunkMaxY[c] = lp.getY();
+            chunkMinHeight[c] = chunkMaxHeight[c] = height;
+            return;
+        }
+
+        chunkMinX[c] = Math.min(chunkMinX[c], lp.getX());
+        chunkMinY[c] = Math.min(chunkMinY[c], lp.getY());
+        chunkMaxX[c] = Math.max(chunkMaxX[c], lp.getX());
+        chunkMaxY[c] = Math.max(chunkMaxY[c], lp.getY());
+        chunkMinHeight[c] = Math.min(chunkMinHeight[c], height);
+        chunkMaxHeight[c] = Math.max(chunkMaxHeight[c], height);
+    }
+
+    // Null if the point isn't in the scene
+    public LocalPoint getLocalPoint(int i)
+    {
+        return points[i];
+    }
+
+    // Tile height at the point, in local units
+    public int getHeight(int i)
+    {
+        return heights[i];
+    }
+
+    // False if none of the chunk's points are in the scene
+    public boolean isChunkInScene(int chunk)
+    {
+        return chunkInScene[chunk];
+    }
+
+    public int getChunkMinX(int chunk)
+    {
+        return chunkMinX[chunk];
+    }
+
+    public int getChunkMinY(int chunk)
+    {
+        return chunkMinY[chunk];
+    }
+
+    public int getChunkMaxX(int chunk)
+    {
+        return chunkMaxX[chunk];
+    }
+
+    public int getChunkMaxY(int chunk)
+    {
+        return chunkMaxY[chunk];
+    }
+
+    public int getChunkMinHeight(int chunk)
+    {
+        return chunkMinHeight[chunk];
+    }
+
+    public int getChunkMaxHeight(int chunk)
+    {
+        return chunkMaxHeight[chunk];
+    }
+}
@@ -2,15 +2,11 @@ package com.BarracudaTrials.overlay;
 
 import com.BarracudaTrials.BarracudaTrialsPlugin;
 import com.BarracudaTrials.model.SpeedBoostDisplayMode;
-import com.BarracudaTrials.config.Config;
+import com.BarracudaTrials.config.ConfigSnapshot;
 import net.runelite.api.Client;
 import net.runelite.api.Perspective;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.Player;
-import net.runelite.client.ui.overlay.Overlay;
-import net.runelite.client.ui.overlay.OverlayLayer;
-import net.runelite.client.ui.overlay.OverlayPosition;
-import net.runelite.client.ui.overlay.OverlayPriority;
 import net.runelite.client.ui.overlay.OverlayUtil;
 
 import javax.inject.Inject;
@@ -18,32 +14,35 @@ import javax.inject.Singleton;
 import java.awt.*;
 
 @Singleton
-public class SpeedBoostOverlay extends Overlay
+public class SpeedBoostLayer implements TrialLayer
 {
+    private static final Color PIE_BACKGROUND = new Color(0, 0, 0, 20);
+    private static final Color DEFAULT_PIE_COLOR = new Color(0, 255, 0, 180);
+
     private final Client client;
     private final BarracudaTrialsPlugin plugin;
-    private final Config config;
+
+    // Canvas position above the player, reused until the camera or player moves
+    private int projectedVersion = -1;
+    private int projectedX = -1;
+    private int projectedY = -1;
+    private net.runelite.api.Point center;
 
     @Inject
-    public SpeedBoostOverlay(Client client,
-                             BarracudaTrialsPlugin plugin,
-                             Config config)
+    public SpeedBoostLayer(Client client,
+                           BarracudaTrialsPlugin plugin)
     {
         this.client = client;
         this.plugin = plugin;
-        this.config = config;
-
-        setPosition(OverlayPosition.DYNAMIC);
-        setLayer(OverlayLayer.ABOVE_SCENE);
-        setPriority(OverlayPriority.HIGH);
     }
 
     @Override
-    public Dimension render(Graphics2D graphics)
+    public void render(Graphics2D graphics, TrialFrame frame)
     {
+        ConfigSnapshot config = frame.getConfig();
         if (!plugin.isTrialRunning() || !config.showSpeedBoostOverlay())
         {
-            return null;
+            return;
         }
 
         int remaining = plugin.getSpeedBoostTicksRemaining();
@@ -51,48 +50,54 @@ public class SpeedBoostOverlay extends Overlay
 
         if (remaining <= 0 || max <= 0)
         {
-            return null;
+            return;
         }
 
         Player player = client.getLocalPlayer();
         if (player == null)
         {
-            return null;
+            return;
         }
 
         LocalPoint lp = player.getLocalLocation();
         if (lp == null)
         {
-            return null;
+            return;
         }
 
-        net.runelite.api.Point base =
-                Perspective.localToCanvas(client, lp, client.getPlane());
-        if (base == null)
+        int version = frame.getCameraVersion();
+        if (version != projectedVersion || lp.getX() != projectedX || lp.getY() != projectedY)
         {
-            return null;
+            net.runelite.api.Point base =
+                    Perspective.localToCanvas(client, lp, client.getPlane());
+
+            // Offset a bit above the player’s head
+            int offsetY = 40;
+            center = base == null ? null
+                    : new net.runelite.api.Point(base.getX(), base.getY() - offsetY);
+            projectedVersion = version;
+            projectedX = lp.getX();
+            projectedY = lp.getY();
         }
 
-        // Offset a bit above the player’s head
-        int offsetY = 40;
-        net.runelite.api.Point center =
-                new net.runelite.api.Point(base.getX(), base.getY() - offsetY);
+        if (center == null)
+        {
+            return;
+        }
 
         SpeedBoostDisplayMode mode = config.speedBoostDisplayMode();
         switch (mode)
         {
             case PIE:
-                renderPie(graphics, center, remaining, max);
+                renderPie(graphics, center, remaining, max, config.speedBoostColor());
                 break;
             case TEXT:
-                renderText(graphics, center, remaining);
+                renderText(graphics, center, remaining, config.speedBoostColor());
                 break;
         }
-
-        return null;
     }
 
-    private void renderPie(Graphics2D g, net.runelite.api.Point center, int remaining, int max)
+    private void renderPie(Graphics2D g, net.runelite.api.Point center, int remaining, int max, Color boostColor)
     {
         float fraction = (float) remaining / (float) max;
 
@@ -102,24 +107,22 @@ public class SpeedBoostOverlay extends Overlay
         int size = radius * 2;
 
         // Background circle
-        g.setColor(new Color(0, 0, 0, 20));
+        g.setColor(PIE_BACKGROUND);
         g.fillOval(x, y, size, size);
 
         // Pie arc
         int arcAngle = Math.round(-360 * fraction);
-        Color boostColor = config.speedBoostColor();
         if (boostColor == null)
         {
-            boostColor = new Color(0, 255, 0, 180);
+            boostColor = DEFAULT_PIE_COLOR;
         }
         g.setColor(boostColor);
         g.fillArc(x, y, size, size, 90, arcAngle);
     }
 
-    private void renderText(Graphics2D g, net.runelite.api.Point center, int remaining)
+    private void renderText(Graphics2D g, net.runelite.api.Point center, int remaining, Color boostColor)
     {
-        String text = Integer.toString(remaining);
-        Color boostColor = config.speedBoostColor();
+        String text = OverlayStyle.label(remaining);
         if (boostColor == null)
         {
             boostColor = Color.GREEN;
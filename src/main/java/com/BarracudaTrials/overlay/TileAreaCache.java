@@ -0,0 +1,98 @@
+package com.BarracudaTrials.overlay;
+
+import net.runelite.api.Client;
+import net.runelite.api.Perspective;
+import net.runelite.api.coords.LocalPoint;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.*;
+import java.util.Arrays;
+
+/*
+Canvas tile-area polygons (Perspective.getCanvasTileAreaPoly) for the marker
+layers, keyed by local point and radius. A radius 5 area reads 36 tile heights
+and projects its outline, so polygons are kept until the camera moves. When
+the markers change with the camera still (next route order, a supply
+spawning) only the new ones are projected. Open addressing on packed long
+keys, so lookups don't allocate. Only used from the client thread.
+*/
+@Singleton
+public class TileAreaCache
+{
+    // Power of two, cleared once half full
+    private static final int CAPACITY = 1024;
+    private static final int SLOT_SHIFT = 64 - Integer.numberOfTrailingZeros(CAPACITY);
+    private static final long NO_KEY = -1;
+
+    private final Client client;
+
+    private final long[] keys = new long[CAPACITY];
+    private final Polygon[] polygons = new Polygon[CAPACITY];
+    private int size;
+    private int cameraVersion = -1;
+
+    @Inject
+    public TileAreaCache(Client client)
+    {
+        this.client = client;
+        Arrays.fill(keys, NO_KEY);
+    }
+
+    // Null if the area is off screen or behind the camera, cached like any other result
+    public Polygon get(LocalPoint lp, int radius, int cameraVersion)
+    {
+        if (cameraVersion != this.cameraVersion)
+        {
+            clear();
+            this.cameraVersion = cameraVersion;
+        }
+
+        long key = ((long) lp.getX() << 32) | ((long) lp.getY() << 8) | radius;
+        int slot = slot(key);
+        while (keys[slot] != NO_KEY)
+        {
+            if (keys[slot] == key)
+            {
+                return polygons[slot];
+            }
+            slot = (slot + 1) & (CAPACITY - 1);
+        }
+
+        if (size >= CAPACITY / 2)
+        {
+            clear();
+            slot = slot(key);
+        }
+
+        Polygon poly = Perspective.getCanvasTileAreaPoly(client, lp, radius);
+        keys[slot] = key;
+        polygons[slot] = poly;
+        size++;
+        return poly;
+    }
+
+    // Scene reloaded, tile heights may have changed even if the camera didn't
+    public void invalidate()
+    {
+        clear();
+        cameraVersion = -1;
+    }
+
+    private void clear()
+    {
+        if (size == 0)
+        {
+            return;
+        }
+
+        Arrays.fill(keys, NO_KEY);
+        Arrays.fill(polygons, null);
+        size = 0;
+    }
+
+    private static int slot(long key)
+    {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> SLOT_SHIFT);
+    }
+}
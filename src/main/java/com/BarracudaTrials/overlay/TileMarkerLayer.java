@@ -0,0 +1,127 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.config.ConfigSnapshot;
+import com.BarracudaTrials.route.RouteBundle;
+import com.BarracudaTrials.route.TileSet;
+import net.runelite.api.Perspective;
+import net.runelite.api.coords.LocalPoint;
+
+import java.awt.*;
+
+/*
+Highlights a tile area around every point of the current order of a TileSet.
+Subclasses say which set (getMarkers), when it is shown (isShown) and how it
+looks (getTileRadius, getOutline). The rest is shared: scene conversion
+through SceneTileCache, chunk culling, polygons from TileAreaCache kept until
+the camera, order or radius changes, and each marker filled then outlined.
+*/
+abstract class TileMarkerLayer implements TrialLayer
+{
+    private final SceneTileCache sceneTileCache;
+    private final TileAreaCache tileAreaCache;
+    private final ChunkCuller chunkCuller;
+
+    // Projected tile areas of the current order, reused until the camera, order or radius changes
+    private int projectedVersion = -1;
+    private SceneTileSet projectedScene;
+    private int projectedStart;
+    private int projectedEnd;
+    private int projectedRadius;
+    private Polygon[] polygons = new Polygon[0];
+
+    TileMarkerLayer(SceneTileCache sceneTileCache,
+                    TileAreaCache tileAreaCache,
+                    ChunkCuller chunkCuller)
+    {
+        this.sceneTileCache = sceneTileCache;
+        this.tileAreaCache = tileAreaCache;
+        this.chunkCuller = chunkCuller;
+    }
+
+    // Config toggle and trial check, the bundle is known to be loaded when this is asked
+    abstract boolean isShown(TrialFrame frame);
+
+    abstract TileSet getMarkers(RouteBundle bundle);
+
+    // Size of the highlighted area, in tiles
+    abstract int getTileRadius(TrialFrame frame);
+
+    abstract Color getOutline(ConfigSnapshot config);
+
+    @Override
+    public void render(Graphics2D graphics, TrialFrame frame)
+    {
+        RouteBundle bundle = frame.getBundle();
+        if (bundle == null || !isShown(frame))
+        {
+            return;
+        }
+
+        TileSet markers = getMarkers(bundle);
+        if (markers.isEmpty())
+        {
+            return;
+        }
+
+        int order = frame.getRouteOrder();
+        int start = markers.start(order);
+        int end = markers.end(order);
+        if (start == end)
+        {
+            return;
+        }
+
+        int tileRadius = getTileRadius(frame);
+        SceneTileSet scene = sceneTileCache.get(markers);
+        int version = frame.getCameraVersion();
+        if (version != projectedVersion || scene != projectedScene
+                || start != projectedStart || end != projectedEnd || tileRadius != projectedRadius)
+        {
+            project(markers, scene, order, tileRadius, version);
+            projectedVersion = version;
+            projectedScene = scene;
+            projectedStart = start;
+            projectedEnd = end;
+            projectedRadius = tileRadius;
+        }
+
+        // Per marker, so overlapping areas stack the same as before
+        Color outline = getOutline(frame.getConfig());
+        graphics.setStroke(OverlayStyle.OUTLINE_STROKE);
+        for (int i = 0; i < end - start; i++)
+        {
+            Polygon poly = polygons[i];
+            if (poly == null)
+            {
+                continue;
+            }
+
+            graphics.setColor(OverlayStyle.FILL);
+            graphics.fill(poly);
+            graphics.setColor(outline);
+            graphics.draw(poly);
+        }
+    }
+
+    // Chunks off the scene or off screen are left empty without looking at their points
+    private void project(TileSet markers, SceneTileSet scene, int order, int tileRadius, int version)
+    {
+        int start = markers.start(order);
+        int end = markers.end(order);
+        if (polygons.length < end - start)
+        {
+            polygons = new Polygon[end - start];
+        }
+
+        int pad = tileRadius * Perspective.LOCAL_TILE_SIZE + Perspective.LOCAL_HALF_TILE_SIZE;
+        for (int c = markers.firstChunk(order); c < markers.endChunk(order); c++)
+        {
+            boolean visible = chunkCuller.isVisible(scene, c, pad);
+            for (int i = markers.chunkStart(c); i < markers.chunkEnd(c); i++)
+            {
+                LocalPoint lp = visible ? scene.getLocalPoint(i) : null;
+                polygons[i - start] = lp == null ? null : tileAreaCache.get(lp, tileRadius, version);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.config.ConfigSnapshot;
+import com.BarracudaTrials.model.Difficulty;
+import com.BarracudaTrials.model.RenderQuality;
+import com.BarracudaTrials.model.RouteVariant;
+import com.BarracudaTrials.model.Trial;
+import com.BarracudaTrials.route.RouteBundle;
+import net.runelite.api.GameObject;
+
+/*
+The trial state every layer needs for one frame: the state TrialModel last
+prepared, plus the config, camera version and render quality of this frame.
+The trial is null if a run started without the plugin seeing which trial it
+is, and the bundle is null until the difficulty is known and its routes have
+loaded. One instance is reused for every frame.
+*/
+final class TrialFrame
+{
+    private ConfigSnapshot config;
+    private PreparedTrial prepared;
+    private int cameraVersion;
+    private RenderQuality quality;
+
+    void update(ConfigSnapshot config, PreparedTrial prepared, int cameraVersion, RenderQuality quality)
+    {
+        this.config = config;
+        this.prepared = prepared;
+        this.cameraVersion = cameraVersion;
+        this.quality = quality;
+    }
+
+    ConfigSnapshot getConfig()
+    {
+        return config;
+    }
+
+    Trial getTrial()
+    {
+        return prepared.getTrial();
+    }
+
+    Difficulty getDifficulty()
+    {
+        return prepared.getDifficulty();
+    }
+
+    RouteVariant getVariant()
+    {
+        return prepared.getVariant();
+    }
+
+    RouteBundle getBundle()
+    {
+        return prepared.getBundle();
+    }
+
+    int getRouteOrder()
+    {
+        return prepared.getRouteOrder();
+    }
+
+    // Changes whenever TrialModel swaps in a newly prepared state
+    int getPreparedVersion()
+    {
+        return prepared.getVersion();
+    }
+
+    // Lost supplies left to collect in the current order
+    int getSupplyCount()
+    {
+        return prepared.getSupplyCount();
+    }
+
+    GameObject getSupply(int i)
+    {
+        return prepared.getSupply(i);
+    }
+
+    String getSupplyLabel(int i)
+    {
+        return prepared.getSupplyLabel(i);
+    }
+
+    // Current Jubbly Jive pillar target, null if there is none
+    GameObject getPillarObject()
+    {
+        return prepared.getPillarObject();
+    }
+
+    int getPillar()
+    {
+        return prepared.getPillar();
+    }
+
+    int getPillarOrder()
+    {
+        return prepared.getPillarOrder();
+    }
+
+    // Centre of the route's detail rings, PreparedTrial.NO_ANCHOR if there is no ship
+    int getRouteAnchorX()
+    {
+        return prepared.getRouteAnchorX();
+    }
+
+    int getRouteAnchorY()
+    {
+        return prepared.getRouteAnchorY();
+    }
+
+    // CameraState.getVersion() for this frame
+    int getCameraVersion()
+    {
+        return cameraVersion;
+    }
+
+    // Set by RenderBudget, layers drop detail as it goes down
+    RenderQuality getQuality()
+    {
+        return quality;
+    }
+}
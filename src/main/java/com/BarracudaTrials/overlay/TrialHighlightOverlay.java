@@ -0,0 +1,39 @@
+package com.BarracudaTrials.overlay;
+
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayLayer;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.OverlayPriority;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.*;
+
+/*
+Draws TrialOverlay's lost supplies and speed boost layers at HIGH priority.
+These are what the player acts on mid-run, so they are kept above the other
+trial layers and other plugins' scene overlays, as their own overlays were
+before TrialOverlay took them over.
+*/
+@Singleton
+public class TrialHighlightOverlay extends Overlay
+{
+    private final TrialOverlay trialOverlay;
+
+    @Inject
+    public TrialHighlightOverlay(TrialOverlay trialOverlay)
+    {
+        this.trialOverlay = trialOverlay;
+
+        setPosition(OverlayPosition.DYNAMIC);
+        setLayer(OverlayLayer.ABOVE_SCENE);
+        setPriority(OverlayPriority.HIGH);
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics)
+    {
+        trialOverlay.renderHighlights(graphics);
+        return null;
+    }
+}
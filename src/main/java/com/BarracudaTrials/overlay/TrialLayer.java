@@ -0,0 +1,12 @@
+package com.BarracudaTrials.overlay;
+
+import java.awt.*;
+
+/*
+One part of the trial overlay. TrialOverlay draws its layers in order, each
+with the same TrialFrame, and only while a trial is in progress.
+*/
+interface TrialLayer
+{
+    void render(Graphics2D graphics, TrialFrame frame);
+}
@@ -0,0 +1,190 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.BarracudaTrialsPlugin;
+import com.BarracudaTrials.model.Difficulty;
+import com.BarracudaTrials.model.RouteVariant;
+import com.BarracudaTrials.model.Ship;
+import com.BarracudaTrials.model.Trial;
+import com.BarracudaTrials.route.PillarSet;
+import com.BarracudaTrials.route.RouteBundle;
+import com.BarracudaTrials.route.RouteRepository;
+import com.BarracudaTrials.route.SupplySet;
+import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.coords.LocalPoint;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.List;
+
+/*
+Selects what the layers draw. The route order, supply objectives, pillar
+target and ship position only change on game ticks, varbit, chat and spawn
+events, so the plugin marks the model dirty from those and it is prepared
+once before the next frame, not on every frame. Double buffered: the next state is filled in the
+back buffer and swapped in whole, so a frame never sees half of an update.
+*/
+@Singleton
+public class TrialModel
+{
+    private static final int VARBIT_SAILING_BT_OBJECTIVE_BASE = 18448;
+    private static final int MAX_OBJECTIVES = 96;
+
+    private final Client client;
+    private final BarracudaTrialsPlugin plugin;
+    private final RouteRepository routeRepository;
+
+    private volatile PreparedTrial front = new PreparedTrial();
+    private PreparedTrial back = new PreparedTrial();
+    private int preparedVersion;
+    // Also set by the route loading thread once a bundle the model is waiting on is parsed
+    private volatile boolean dirty = true;
+
+    @Inject
+    public TrialModel(Client client,
+                      BarracudaTrialsPlugin plugin,
+                      RouteRepository routeRepository)
+    {
+        this.client = client;
+        this.plugin = plugin;
+        this.routeRepository = routeRepository;
+    }
+
+    public void markDirty()
+    {
+        dirty = true;
+    }
+
+    // Called on the client thread before each frame
+    public void prepareIfDirty()
+    {
+        if (!dirty)
+        {
+            return;
+        }
+        dirty = false;
+
+        PreparedTrial next = back;
+        next.setVersion(++preparedVersion);
+        prepare(next);
+        back = front;
+        front = next;
+    }
+
+    PreparedTrial getPrepared()
+    {
+        return front;
+    }
+
+    private void prepare(PreparedTrial next)
+    {
+        Trial trial = plugin.getCurrentTrial();
+        Difficulty difficulty = plugin.getCurrentDifficulty();
+        RouteVariant variant = null;
+        RouteBundle bundle = null;
+        if (trial != null && difficulty != null)
+        {
+            variant = plugin.getActiveVariant(trial, difficulty);
+            bundle = routeRepository.getLoadedBundle(trial, difficulty, variant);
+            if (bundle == null)
+            {
+                // Still loading, prepare again once it has been parsed
+                routeRepository.whenLoaded(trial, difficulty, variant, this::markDirty);
+            }
+        }
+
+        int routeOrder = plugin.getCurrentRouteOrder();
+        next.setRoute(trial, difficulty, variant, bundle, routeOrder);
+        prepareRouteAnchor(next);
+
+        next.clearSupplies();
+        next.setPillar(null, 0, 0);
+        if (bundle == null)
+        {
+            return;
+        }
+
+        prepareSupplies(next, bundle.getSupplies(), routeOrder);
+        if (trial == Trial.JUBBLY_JIVE)
+        {
+            preparePillar(next, bundle.getPillars());
+        }
+    }
+
+    // Once per tick, converting the boat-relative hull position allocates
+    private void prepareRouteAnchor(PreparedTrial next)
+    {
+        Ship ship = plugin.getShip();
+        LocalPoint center = ship == null ? null : ship.getCenterMainWorldPoint(client);
+        if (center == null)
+        {
+            next.setRouteAnchor(PreparedTrial.NO_ANCHOR, PreparedTrial.NO_ANCHOR);
+            return;
+        }
+        next.setRouteAnchor(center.getX() >> PreparedTrial.ANCHOR_SHIFT, center.getY() >> PreparedTrial.ANCHOR_SHIFT);
+    }
+
+    // Supplies of the current order whose objective hasn't been collected
+    private void prepareSupplies(PreparedTrial next, SupplySet supplies, int routeOrder)
+    {
+        if (supplies.isEmpty())
+        {
+            return;
+        }
+
+        List<GameObject> lostSupplies = plugin.getLostSupplies();
+        for (int i = 0; i < lostSupplies.size(); i++)
+        {
+            GameObject o = lostSupplies.get(i);
+            int supply = supplies.indexOf(o.getId());
+            if (supply < 0 || supplies.getOrder(supply) != routeOrder)
+            {
+                continue;
+            }
+
+            int objectiveIndex = supplies.getVarbit(supply);
+            if (objectiveIndex < 0 || objectiveIndex >= MAX_OBJECTIVES)
+            {
+                continue;
+            }
+
+            // If 0, Lost Supply has been collected
+            if (client.getVarbitValue(VARBIT_SAILING_BT_OBJECTIVE_BASE + objectiveIndex) == 0)
+            {
+                continue;
+            }
+
+            ObjectComposition def = client.getObjectDefinition(o.getId());
+            if (def == null)
+            {
+                continue;
+            }
+
+            next.addSupply(o, OverlayStyle.label(supplies.getIndex(supply)));
+        }
+    }
+
+    // Only highlight after collecting toads
+    private void preparePillar(PreparedTrial next, PillarSet route)
+    {
+        int currentOrder = plugin.getCurrentJubblyPillarOrder();
+        if (currentOrder <= 0)
+        {
+            return;
+        }
+
+        int target = route.indexOfOrder(currentOrder);
+        if (target < 0)
+        {
+            return;
+        }
+
+        int pillar = route.getPillar(target);
+        GameObject pillarObj = plugin.getJubblyPillarObject(pillar);
+        if (pillarObj != null)
+        {
+            next.setPillar(pillarObj, pillar, route.getOrder(target));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.BarracudaTrialsPlugin;
+import com.BarracudaTrials.config.ConfigSnapshot;
+import net.runelite.client.ui.overlay.Overlay;
+import net.runelite.client.ui.overlay.OverlayLayer;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.OverlayPriority;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.*;
+
+/*
+The plugin's scene overlay. Hands the state TrialModel prepared, with this
+frame's config and camera version, to each TrialLayer, instead of every overlay
+looking it up itself. Lost supplies and the speed boost are drawn by
+TrialHighlightOverlay at a higher priority, so they stay above other plugins'
+scene overlays, from the same frame state. Each layer is timed for the
+RenderBudget, which sets the quality of later frames.
+*/
+@Singleton
+public class TrialOverlay extends Overlay
+{
+    private final BarracudaTrialsPlugin plugin;
+    private final TrialModel trialModel;
+    private final CameraState cameraState;
+    private final RenderBudget renderBudget;
+
+    // Draw order, later layers are drawn on top. Layers from highlightStart on
+    // are drawn by TrialHighlightOverlay
+    private final TrialLayer[] layers;
+    private final int highlightStart;
+
+    private final TrialFrame frame = new TrialFrame();
+
+    // Render time of each layer this frame, for the RenderBudget
+    private final long[] layerNanos;
+
+    @Inject
+    public TrialOverlay(BarracudaTrialsPlugin plugin,
+                        TrialModel trialModel,
+                        CameraState cameraState,
+                        RenderBudget renderBudget,
+                        RouteLayer routeLayer,
+                        CrystalMoteLayer crystalMoteLayer,
+                        RapidsLayer rapidsLayer,
+                        JubblyPillarLayer jubblyPillarLayer,
+                        JubblyBoatLayer jubblyBoatLayer,
+                        TemporBoatLayer temporBoatLayer,
+                        LostSuppliesLayer lostSuppliesLayer,
+                        SpeedBoostLayer speedBoostLayer)
+    {
+        this.plugin = plugin;
+        this.trialModel = trialModel;
+        this.cameraState = cameraState;
+        this.renderBudget = renderBudget;
+        this.layers = new TrialLayer[]{
+                routeLayer,
+                crystalMoteLayer,
+                rapidsLayer,
+                jubblyPillarLayer,
+                jubblyBoatLayer,
+                temporBoatLayer,
+                lostSuppliesLayer,
+                speedBoostLayer,
+        };
+        this.highlightStart = layers.length - 2;
+        this.layerNanos = new long[layers.length];
+
+        setPosition(OverlayPosition.DYNAMIC);
+        setLayer(OverlayLayer.ABOVE_SCENE);
+        setPriority(OverlayPriority.MED);
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics)
+    {
+        if (updateFrame())
+        {
+            renderLayers(graphics, 0, highlightStart);
+
+            // The highlight times are from whichever highlight pass ran last, at most a frame apart
+            renderBudget.update(layerNanos, frame.getConfig().renderBudget());
+        }
+        return null;
+    }
+
+    // Called by TrialHighlightOverlay
+    void renderHighlights(Graphics2D graphics)
+    {
+        if (updateFrame())
+        {
+            renderLayers(graphics, highlightStart, layers.length);
+        }
+    }
+
+    // Both passes read the frame afresh, the overlay manager may run either first
+    private boolean updateFrame()
+    {
+        // A run can be timed before the plugin has seen which trial it is
+        if (!plugin.isInTrial() && !plugin.isTrialRunning())
+        {
+            return false;
+        }
+
+        ConfigSnapshot config = plugin.getConfigSnapshot();
+        frame.update(config, trialModel.getPrepared(), cameraState.getVersion(), renderBudget.getQuality());
+        return true;
+    }
+
+    private void renderLayers(Graphics2D graphics, int from, int to)
+    {
+        for (int i = from; i < to; i++)
+        {
+            long start = System.nanoTime();
+            layers[i].render(graphics, frame);
+            layerNanos[i] = System.nanoTime() - start;
+        }
+    }
+}
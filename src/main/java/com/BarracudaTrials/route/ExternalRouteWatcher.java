@@ -0,0 +1,201 @@
+package com.BarracudaTrials.route;
+
+import com.BarracudaTrials.util.RouteResources;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+Watches RouteResources.EXTERNAL_ROUTES_DIR and pushes changed route files into
+the RouteRepository. Editors tend to write a file in several steps, so events
+are collected until the directory has been quiet for DEBOUNCE_MS and each
+changed file is reloaded once. Adding or removing folders changes which
+variants exist, the listener given to start() is told after each batch.
+*/
+@Slf4j
+@Singleton
+public class ExternalRouteWatcher
+{
+    private static final long DEBOUNCE_MS = 250;
+
+    private final RouteRepository routeRepository;
+
+    private WatchService watchService;
+    private Thread thread;
+    private volatile Runnable foldersChanged;
+
+    @Inject
+    public ExternalRouteWatcher(RouteRepository routeRepository)
+    {
+        this.routeRepository = routeRepository;
+    }
+
+    // foldersChanged runs on the watcher thread
+    public synchronized void start(Runnable foldersChanged)
+    {
+        this.foldersChanged = foldersChanged;
+        if (thread != null)
+        {
+            return;
+        }
+
+        Path root = RouteResources.EXTERNAL_ROUTES_DIR;
+        try
+        {
+            Files.createDirectories(root);
+            watchService = root.getFileSystem().newWatchService();
+            registerAll(watchService, root);
+        }
+        catch (IOException e)
+        {
+            log.warn("Unable to watch external routes in {}", root, e);
+            closeWatchService();
+            return;
+        }
+
+        thread = new Thread(this::run, "barracuda-trials-route-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop()
+    {
+        if (thread == null)
+        {
+            return;
+        }
+
+        thread.interrupt();
+        thread = null;
+        closeWatchService();
+    }
+
+    private void run()
+    {
+        WatchService service = watchService;
+        Set<Path> changed = new LinkedHashSet<>();
+        Set<Path> folders = new LinkedHashSet<>();
+
+        try
+        {
+            while (!Thread.currentThread().isInterrupted())
+            {
+                // Block for the first event, then drain until things go quiet
+                WatchKey key = service.take();
+                while (key != null)
+                {
+                    if (!collect(service, key, changed, folders))
+                    {
+                        changed.clear();
+                        routeRepository.invalidateAll();
+                    }
+                    key = service.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+                }
+
+                if (!folders.isEmpty())
+                {
+                    folders.clear();
+                    foldersChanged.run();
+                }
+
+                for (Path path : changed)
+                {
+                    routeRepository.reloadExternalFile(path);
+                }
+                changed.clear();
+            }
+        }
+        catch (InterruptedException | ClosedWatchServiceException e)
+        {
+            // Stopped
+        }
+    }
+
+    // Returns false if events were lost and everything must be re-read
+    private boolean collect(WatchService service, WatchKey key, Set<Path> changed, Set<Path> folders)
+    {
+        Path dir = (Path) key.watchable();
+        boolean complete = true;
+
+        for (WatchEvent<?> event : key.pollEvents())
+        {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW)
+            {
+                complete = false;
+                folders.add(dir);
+                continue;
+            }
+
+            Path path = dir.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path))
+            {
+                // New trial/difficulty/variant folder, files may already be inside
+                try
+                {
+                    registerAll(service, path);
+                }
+                catch (IOException e)
+                {
+                    log.warn("Unable to watch {}", path, e);
+                }
+                routeRepository.invalidateExternalFolder(path);
+                folders.add(path);
+            }
+            else if (path.getFileName().toString().endsWith(".json"))
+            {
+                changed.add(path);
+            }
+            else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE)
+            {
+                // Deleted paths can't be checked, anything but a route file may have been a folder
+                routeRepository.invalidateExternalFolder(path);
+                folders.add(path);
+            }
+        }
+
+        key.reset();
+        return complete;
+    }
+
+    // Takes the service rather than reading the field, stop() may close and clear it meanwhile
+    private static void registerAll(WatchService service, Path root) throws IOException
+    {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException
+            {
+                dir.register(service,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void closeWatchService()
+    {
+        if (watchService == null)
+        {
+            return;
+        }
+
+        try
+        {
+            watchService.close();
+        }
+        catch (IOException e)
+        {
+            log.debug("Unable to close route watcher", e);
+        }
+        watchService = null;
+    }
+}
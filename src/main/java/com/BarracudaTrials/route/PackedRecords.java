@@ -0,0 +1,52 @@
+package com.BarracudaTrials.route;
+
+// Fixed-width int records for one route file, stored row by row and sorted by order
+public final class PackedRecords
+{
+    static final PackedRecords EMPTY = new PackedRecords(0, 0, new int[0], new int[0]);
+
+    private final int fieldCount;
+    private final int count;
+    private final int[] values;
+
+    // Triples of (order, first record, record count)
+    private final int[] orders;
+
+    PackedRecords(int fieldCount, int count, int[] values, int[] orders)
+    {
+        this.fieldCount = fieldCount;
+        this.count = count;
+        this.values = values;
+        this.orders = orders;
+    }
+
+    public int size()
+    {
+        return count;
+    }
+
+    public int get(int record, int field)
+    {
+        return values[record * fieldCount + field];
+    }
+
+    public int getOrderCount()
+    {
+        return orders.length / 3;
+    }
+
+    public int getOrder(int orderIndex)
+    {
+        return orders[orderIndex * 3];
+    }
+
+    public int getOrderStart(int orderIndex)
+    {
+        return orders[orderIndex * 3 + 1];
+    }
+
+    public int getOrderLength(int orderIndex)
+    {
+        return orders[orderIndex * 3 + 2];
+    }
+}
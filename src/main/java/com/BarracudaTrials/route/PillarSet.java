@@ -0,0 +1,80 @@
+package com.BarracudaTrials.route;
+
+// Jubbly Jive pillar route as parallel arrays, sorted by order
+public final class PillarSet
+{
+    public static final PillarSet EMPTY = new PillarSet(new int[0], new int[0], new int[0]);
+
+    private final int[] order;
+    private final int[] pillar;
+    private final int[] varbitId;
+
+    private PillarSet(int[] order, int[] pillar, int[] varbitId)
+    {
+        this.order = order;
+        this.pillar = pillar;
+        this.varbitId = varbitId;
+    }
+
+    // Records are regionId, regionX, regionY, z, order, pillar, varbitId (see RouteFile).
+    // The pillar position comes from the spawned pillar object, so only the ids are kept.
+    static PillarSet of(PackedRecords records)
+    {
+        int count = records.size();
+        if (count == 0)
+        {
+            return EMPTY;
+        }
+
+        int[] order = new int[count];
+        int[] pillar = new int[count];
+        int[] varbitId = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            order[i] = records.get(i, 4);
+            pillar[i] = records.get(i, 5);
+            varbitId[i] = records.get(i, 6);
+        }
+
+        return new PillarSet(order, pillar, varbitId);
+    }
+
+    public int size()
+    {
+        return order.length;
+    }
+
+    public boolean isEmpty()
+    {
+        return order.length == 0;
+    }
+
+    // Returns -1 if no pillar has this order
+    public int indexOfOrder(int o)
+    {
+        for (int i = 0; i < order.length; i++)
+        {
+            if (order[i] == o)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getOrder(int i)
+    {
+        return order[i];
+    }
+
+    // Pillar number 1-7, matches the clickbox object
+    public int getPillar(int i)
+    {
+        return pillar[i];
+    }
+
+    public int getVarbitId(int i)
+    {
+        return varbitId[i];
+    }
+}
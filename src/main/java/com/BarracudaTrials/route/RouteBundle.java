@@ -0,0 +1,77 @@
+package com.BarracudaTrials.route;
+
+// Everything parsed for one trial/difficulty/variant
+public final class RouteBundle
+{
+    private final RouteKey key;
+    private final TileSet route;
+    private final SupplySet supplies;
+    private final TileSet crystalMotes;
+    private final TileSet rapids;
+    private final PillarSet pillars;
+
+    RouteBundle(RouteKey key,
+                TileSet route,
+                SupplySet supplies,
+                TileSet crystalMotes,
+                TileSet rapids,
+                PillarSet pillars)
+    {
+        this.key = key;
+        this.route = route;
+        this.supplies = supplies;
+        this.crystalMotes = crystalMotes;
+        this.rapids = rapids;
+        this.pillars = pillars;
+    }
+
+    // Copy with one file's data replaced, the rest is shared
+    RouteBundle with(RouteFile file, PackedRecords records, double routeTolerance)
+    {
+        return new RouteBundle(
+                key,
+                file == RouteFile.ROUTE ? TileSet.of(records).simplify(routeTolerance).withDetailLevels() : route,
+                file == RouteFile.SUPPLIES ? SupplySet.of(records) : supplies,
+                file == RouteFile.CRYSTAL_MOTES ? TileSet.of(records) : crystalMotes,
+                file == RouteFile.RAPIDS ? TileSet.of(records) : rapids,
+                file == RouteFile.PILLARS ? PillarSet.of(records) : pillars
+        );
+    }
+
+    // Approximate size of the parsed arrays, used to bound RouteRepository's cache
+    int getSizeBytes()
+    {
+        int tiles = route.size() + crystalMotes.size() + rapids.size();
+        return Integer.BYTES * (3 * tiles + 4 * supplies.size() + 3 * pillars.size());
+    }
+
+    public RouteKey getKey()
+    {
+        return key;
+    }
+
+    public TileSet getRoute()
+    {
+        return route;
+    }
+
+    public SupplySet getSupplies()
+    {
+        return supplies;
+    }
+
+    public TileSet getCrystalMotes()
+    {
+        return crystalMotes;
+    }
+
+    public TileSet getRapids()
+    {
+        return rapids;
+    }
+
+    public PillarSet getPillars()
+    {
+        return pillars;
+    }
+}
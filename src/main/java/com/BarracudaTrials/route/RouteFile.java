@@ -0,0 +1,71 @@
+package com.BarracudaTrials.route;
+
+// Files that make up a route bundle. The ordinal is the file type id in the
+// route pack, so only append new values (see compileRoutePack in build.gradle).
+public enum RouteFile
+{
+    ROUTE("route.json", "regionId", "regionX", "regionY", "z", "order"),
+    SUPPLIES("supplies.json", "varbit", "objectId", "order", "index"),
+    CRYSTAL_MOTES("crystal_motes.json", "regionId", "regionX", "regionY", "z", "order"),
+    RAPIDS("rapids.json", "regionId", "regionX", "regionY", "z", "order"),
+    PILLARS("pillars.json", "regionId", "regionX", "regionY", "z", "order", "pillar", "varbitId");
+
+    // Orders index per-order tables (see TileSet), so a stray value can't size them
+    public static final int MAX_ORDER = 255;
+
+    private final String fileName;
+    private final String[] fields;
+    private final int orderField;
+
+    RouteFile(String fileName, String... fields)
+    {
+        this.fileName = fileName;
+        this.fields = fields;
+        this.orderField = fieldIndex("order");
+    }
+
+    public static RouteFile fromFileName(String fileName)
+    {
+        for (RouteFile file : values())
+        {
+            if (file.fileName.equals(fileName))
+            {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    public String getFileName()
+    {
+        return fileName;
+    }
+
+    public String[] getFields()
+    {
+        return fields.clone();
+    }
+
+    public int getFieldCount()
+    {
+        return fields.length;
+    }
+
+    // Returns -1 for fields that aren't stored
+    public int fieldIndex(String name)
+    {
+        for (int i = 0; i < fields.length; i++)
+        {
+            if (fields[i].equals(name))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getOrderField()
+    {
+        return orderField;
+    }
+}
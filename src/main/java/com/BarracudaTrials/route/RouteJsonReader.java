@@ -0,0 +1,182 @@
+package com.BarracudaTrials.route;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/*
+Streams a route JSON array straight into PackedRecords, without DTOs.
+Numbers may be quoted ("9014", as in route.json) or plain (as in pillars.json).
+Entries with a missing or non-integer field are skipped and reported rather
+than failing the whole file; a file that isn't a JSON array throws.
+*/
+final class RouteJsonReader
+{
+    private RouteJsonReader() {}
+
+    static Result read(Reader in, RouteFile file) throws IOException
+    {
+        int fieldCount = file.getFieldCount();
+        int[] values = new int[64 * fieldCount];
+        int[] row = new int[fieldCount];
+        int count = 0;
+        int entry = 0;
+        List<String> errors = Collections.emptyList();
+
+        JsonReader reader = new JsonReader(in);
+        reader.beginArray();
+        while (reader.hasNext())
+        {
+            String error = readEntry(reader, file, row);
+            if (error != null)
+            {
+                if (errors.isEmpty())
+                {
+                    errors = new ArrayList<>();
+                }
+                errors.add("entry " + entry + ": " + error);
+            }
+            else
+            {
+                if ((count + 1) * fieldCount > values.length)
+                {
+                    values = Arrays.copyOf(values, values.length * 2);
+                }
+                System.arraycopy(row, 0, values, count * fieldCount, fieldCount);
+                count++;
+            }
+            entry++;
+        }
+        reader.endArray();
+
+        return new Result(sortByOrder(file, values, count), errors);
+    }
+
+    // Returns an error message, or null once every field of the entry has been read into row
+    private static String readEntry(JsonReader reader, RouteFile file, int[] row) throws IOException
+    {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT)
+        {
+            reader.skipValue();
+            return "not an object";
+        }
+
+        int seen = 0;
+        String error = null;
+
+        reader.beginObject();
+        while (reader.hasNext())
+        {
+            String name = reader.nextName();
+            int field = file.fieldIndex(name);
+            if (field < 0)
+            {
+                reader.skipValue();
+                continue;
+            }
+
+            JsonToken token = reader.peek();
+            if (token != JsonToken.NUMBER && token != JsonToken.STRING)
+            {
+                reader.skipValue();
+                error = "'" + name + "' is " + token;
+                continue;
+            }
+
+            try
+            {
+                // Reads plain numbers without creating a String and parses quoted ones
+                row[field] = reader.nextInt();
+                seen |= 1 << field;
+            }
+            catch (NumberFormatException e)
+            {
+                reader.skipValue();
+                error = "'" + name + "' is not an integer";
+            }
+        }
+        reader.endObject();
+
+        if (error != null)
+        {
+            return error;
+        }
+
+        int all = (1 << file.getFieldCount()) - 1;
+        if (seen != all)
+        {
+            for (int i = 0; i < file.getFieldCount(); i++)
+            {
+                if ((seen & (1 << i)) == 0)
+                {
+                    return "missing '" + file.getFields()[i] + "'";
+                }
+            }
+        }
+
+        int order = row[file.getOrderField()];
+        if (order < 0 || order > RouteFile.MAX_ORDER)
+        {
+            return "'order' " + order + " is not between 0 and " + RouteFile.MAX_ORDER;
+        }
+        return null;
+    }
+
+    // Stable sort by order; files are almost always in order already, so insertion sort is ~linear
+    private static PackedRecords sortByOrder(RouteFile file, int[] values, int count)
+    {
+        int fieldCount = file.getFieldCount();
+        int orderField = file.getOrderField();
+
+        int[] idx = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            int order = values[i * fieldCount + orderField];
+            int j = i;
+            while (j > 0 && values[idx[j - 1] * fieldCount + orderField] > order)
+            {
+                idx[j] = idx[j - 1];
+                j--;
+            }
+            idx[j] = i;
+        }
+
+        int[] sorted = new int[count * fieldCount];
+        int[] orders = new int[count * 3];
+        int orderCount = 0;
+
+        for (int i = 0; i < count; i++)
+        {
+            System.arraycopy(values, idx[i] * fieldCount, sorted, i * fieldCount, fieldCount);
+
+            int order = sorted[i * fieldCount + orderField];
+            if (orderCount == 0 || orders[(orderCount - 1) * 3] != order)
+            {
+                orders[orderCount * 3] = order;
+                orders[orderCount * 3 + 1] = i;
+                orderCount++;
+            }
+            orders[(orderCount - 1) * 3 + 2]++;
+        }
+
+        return new PackedRecords(fieldCount, count, sorted, Arrays.copyOf(orders, orderCount * 3));
+    }
+
+    static final class Result
+    {
+        final PackedRecords records;
+        final List<String> errors;
+
+        private Result(PackedRecords records, List<String> errors)
+        {
+            this.records = records;
+            this.errors = errors;
+        }
+    }
+}
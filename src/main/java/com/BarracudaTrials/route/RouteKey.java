@@ -0,0 +1,90 @@
+package com.BarracudaTrials.route;
+
+import com.BarracudaTrials.model.Difficulty;
+import com.BarracudaTrials.model.RouteVariant;
+import com.BarracudaTrials.model.Trial;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Interned, so looking a key up every frame doesn't allocate
+public final class RouteKey
+{
+    private static final int DIFFICULTIES = Difficulty.values().length;
+    private static final int KEYS_PER_VARIANT = Trial.values().length * DIFFICULTIES;
+
+    // Keys by variant, indexed by trial and difficulty
+    private static final ConcurrentMap<RouteVariant, RouteKey[]> KEYS = new ConcurrentHashMap<>();
+
+    private final Trial trial;
+    private final Difficulty difficulty;
+    private final RouteVariant variant;
+
+    private RouteKey(Trial trial, Difficulty difficulty, RouteVariant variant)
+    {
+        this.trial = Objects.requireNonNull(trial);
+        this.difficulty = Objects.requireNonNull(difficulty);
+        this.variant = Objects.requireNonNull(variant);
+    }
+
+    public static RouteKey of(Trial trial, Difficulty difficulty, RouteVariant variant)
+    {
+        RouteKey[] keys = KEYS.computeIfAbsent(variant, v -> new RouteKey[KEYS_PER_VARIANT]);
+        int slot = trial.ordinal() * DIFFICULTIES + difficulty.ordinal();
+
+        RouteKey key = keys[slot];
+        if (key == null)
+        {
+            // A racing thread may create an equal key, equals() still holds
+            key = new RouteKey(trial, difficulty, variant);
+            keys[slot] = key;
+        }
+        return key;
+    }
+
+    public Trial getTrial()
+    {
+        return trial;
+    }
+
+    public Difficulty getDifficulty()
+    {
+        return difficulty;
+    }
+
+    public RouteVariant getVariant()
+    {
+        return variant;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof RouteKey))
+        {
+            return false;
+        }
+
+        RouteKey other = (RouteKey) o;
+        return trial == other.trial
+                && difficulty == other.difficulty
+                && variant == other.variant;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(trial, difficulty, variant);
+    }
+
+    @Override
+    public String toString()
+    {
+        return trial.getKey() + "/" + difficulty.getKey() + "/" + variant.getKey();
+    }
+}
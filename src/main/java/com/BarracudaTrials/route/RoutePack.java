@@ -0,0 +1,31 @@
+package com.BarracudaTrials.route;
+
+import java.util.Collections;
+import java.util.Map;
+
+// Contents of the compiled route pack, keyed by "trial/difficulty/variant"
+public final class RoutePack
+{
+    private final Map<String, Map<RouteFile, PackedRecords>> entries;
+
+    RoutePack(Map<String, Map<RouteFile, PackedRecords>> entries)
+    {
+        this.entries = entries;
+    }
+
+    public boolean contains(RouteKey key)
+    {
+        return entries.containsKey(key.toString());
+    }
+
+    // Returns null if the file doesn't exist for this route
+    public PackedRecords get(RouteKey key, RouteFile file)
+    {
+        return entries.getOrDefault(key.toString(), Collections.emptyMap()).get(file);
+    }
+
+    public int getEntryCount()
+    {
+        return entries.size();
+    }
+}
@@ -0,0 +1,109 @@
+package com.BarracudaTrials.route;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+Reader for the binary route pack produced by the compileRoutePack Gradle task.
+
+Layout (big endian):
+  int magic "BTRP", short version, int entry count, then per entry:
+  utf trial, utf difficulty, utf variant, byte file type (RouteFile ordinal),
+  byte field count, int record count, int order count,
+  order count x (int order, int first record, int record count),
+  record count x field count ints, sorted by order.
+*/
+public final class RoutePackReader
+{
+    public static final String RESOURCE = "/routes/routes.pack";
+
+    static final int MAGIC = 0x42545250;
+    static final int VERSION = 1;
+
+    private RoutePackReader() {}
+
+    // Returns null if the pack isn't on the classpath
+    public static RoutePack load() throws IOException
+    {
+        InputStream in = RoutePackReader.class.getResourceAsStream(RESOURCE);
+        if (in == null)
+        {
+            return null;
+        }
+
+        byte[] bytes;
+        try (InputStream stream = in)
+        {
+            bytes = ByteStreams.toByteArray(stream);
+        }
+
+        return read(bytes);
+    }
+
+    static RoutePack read(byte[] bytes) throws IOException
+    {
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(bytes));
+
+        int magic = data.readInt();
+        if (magic != MAGIC)
+        {
+            throw new IOException("Not a route pack (magic " + Integer.toHexString(magic) + ")");
+        }
+
+        int version = data.readUnsignedShort();
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported route pack version " + version + ", expected " + VERSION);
+        }
+
+        RouteFile[] fileTypes = RouteFile.values();
+        int entryCount = data.readInt();
+        Map<String, Map<RouteFile, PackedRecords>> entries = new HashMap<>();
+
+        for (int i = 0; i < entryCount; i++)
+        {
+            String key = data.readUTF() + "/" + data.readUTF() + "/" + data.readUTF();
+
+            int fileType = data.readUnsignedByte();
+            int fieldCount = data.readUnsignedByte();
+            if (fileType >= fileTypes.length || fileTypes[fileType].getFieldCount() != fieldCount)
+            {
+                throw new IOException("Bad route pack entry " + key + " (type " + fileType + ", " + fieldCount + " fields)");
+            }
+
+            int recordCount = data.readInt();
+            int orderCount = data.readInt();
+
+            int[] orders = new int[orderCount * 3];
+            for (int o = 0; o < orders.length; o++)
+            {
+                orders[o] = data.readInt();
+            }
+            for (int o = 0; o < orders.length; o += 3)
+            {
+                if (orders[o] < 0 || orders[o] > RouteFile.MAX_ORDER)
+                {
+                    throw new IOException("Bad route pack entry " + key + " (order " + orders[o] + ")");
+                }
+            }
+
+            int[] values = new int[recordCount * fieldCount];
+            for (int v = 0; v < values.length; v++)
+            {
+                values[v] = data.readInt();
+            }
+
+            entries.computeIfAbsent(key, k -> new EnumMap<>(RouteFile.class))
+                    .put(fileTypes[fileType], new PackedRecords(fieldCount, recordCount, values, orders));
+        }
+
+        return new RoutePack(entries);
+    }
+}
@@ -0,0 +1,131 @@
+package com.BarracudaTrials.route;
+
+import com.BarracudaTrials.model.Difficulty;
+import com.BarracudaTrials.model.RouteVariant;
+import com.BarracudaTrials.model.Trial;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/*
+Which trial/difficulty/variant routes exist and which files each one has, read
+from the manifest generated at build time (see generateRouteManifest in
+build.gradle). Lookups are map reads, nothing is probed on the classpath.
+If the manifest is missing (e.g. resources not processed) isAvailable() is
+false and callers fall back to probing.
+*/
+@Slf4j
+@Singleton
+public class RouteRegistry
+{
+    public static final String MANIFEST = "/routes/manifest.txt";
+
+    // trial -> difficulty -> variant (manifest order) -> files present
+    private Map<Trial, Map<Difficulty, Map<RouteVariant, Set<RouteFile>>>> routes;
+    private boolean available;
+
+    public synchronized boolean isAvailable()
+    {
+        load();
+        return available;
+    }
+
+    public boolean contains(Trial trial, Difficulty difficulty, RouteVariant variant)
+    {
+        return getFiles(trial, difficulty, variant) != null;
+    }
+
+    public boolean hasFile(RouteKey key, RouteFile file)
+    {
+        Set<RouteFile> files = getFiles(key.getTrial(), key.getDifficulty(), key.getVariant());
+        return files != null && files.contains(file);
+    }
+
+    private Set<RouteFile> getFiles(Trial trial, Difficulty difficulty, RouteVariant variant)
+    {
+        return getRoutes().get(trial).get(difficulty).get(variant);
+    }
+
+    private synchronized Map<Trial, Map<Difficulty, Map<RouteVariant, Set<RouteFile>>>> getRoutes()
+    {
+        load();
+        return routes;
+    }
+
+    private void load()
+    {
+        if (routes != null)
+        {
+            return;
+        }
+
+        routes = new EnumMap<>(Trial.class);
+        for (Trial trial : Trial.values())
+        {
+            Map<Difficulty, Map<RouteVariant, Set<RouteFile>>> difficulties = new EnumMap<>(Difficulty.class);
+            for (Difficulty difficulty : Difficulty.values())
+            {
+                difficulties.put(difficulty, new LinkedHashMap<>());
+            }
+            routes.put(trial, difficulties);
+        }
+
+        InputStream in = RouteRegistry.class.getResourceAsStream(MANIFEST);
+        if (in == null)
+        {
+            log.debug("No route manifest on the classpath");
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))
+        {
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                parseLine(line.trim());
+            }
+            available = true;
+        }
+        catch (IOException e)
+        {
+            log.warn("Unable to read route manifest", e);
+        }
+    }
+
+    // <trial>/<difficulty>/<variant> <file> <file> ...
+    private void parseLine(String line)
+    {
+        if (line.isEmpty() || line.startsWith("#"))
+        {
+            return;
+        }
+
+        String[] parts = line.split("\\s+");
+        String[] path = parts[0].split("/");
+        Trial trial = path.length == 3 ? Trial.fromKey(path[0]) : null;
+        Difficulty difficulty = path.length == 3 ? Difficulty.fromKey(path[1]) : null;
+        if (trial == null || difficulty == null)
+        {
+            log.warn("Unknown route in manifest: {}", parts[0]);
+            return;
+        }
+
+        Set<RouteFile> files = EnumSet.noneOf(RouteFile.class);
+        for (int i = 1; i < parts.length; i++)
+        {
+            RouteFile file = RouteFile.fromFileName(parts[i]);
+            if (file != null)
+            {
+                files.add(file);
+            }
+        }
+
+        routes.get(trial).get(difficulty).put(RouteVariant.of(path[2]), Collections.unmodifiableSet(files));
+    }
+}
@@ -0,0 +1,620 @@
+package com.BarracudaTrials.route;
+
+import com.BarracudaTrials.model.Difficulty;
+import com.BarracudaTrials.model.RouteVariant;
+import com.BarracudaTrials.model.Trial;
+import com.BarracudaTrials.util.RouteResources;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/*
+Single loader/cache for everything under /routes/<trial>/<difficulty>/<variant>/.
+Each file is parsed once per bundle and the bundle is shared by all overlays.
+Bundles come from the compiled route pack when it is on the classpath, otherwise
+from the route JSON. When external routes are enabled, files found under
+RouteResources.EXTERNAL_ROUTES_DIR take precedence and are reloaded one file at
+a time by ExternalRouteWatcher. Bundles are parsed on the background executor
+and published once complete, so render code can poll getLoadedBundle() without
+ever blocking on I/O. A bundle that fails to load is only retried once its
+files change or the routes are invalidated. Parsed bundles are kept in a
+weight-bounded LRU cache and released when their trial ends, so a long session
+doesn't keep every route it has touched. The bundle render code is using is
+pinned outside the cache, so eviction never drops it.
+*/
+@Slf4j
+@Singleton
+public class RouteRepository
+{
+    private final ScheduledExecutorService executor;
+    private final RouteRegistry registry;
+
+    // Upper bound on parsed route data kept in memory, besides the pinned active
+    // bundle. The bundled routes are under 10KB each, the headroom is for
+    // external variants. A bundle heavier than this is still drawn while active,
+    // it just isn't kept once another route is in use
+    private static final long MAX_CACHED_BYTES = 128 * 1024;
+
+    // One segment, Guava splits the weight and evicts per segment otherwise
+    private final Cache<RouteKey, RouteBundle> bundles = CacheBuilder.newBuilder()
+            .concurrencyLevel(1)
+            .maximumWeight(MAX_CACHED_BYTES)
+            .weigher((RouteKey key, RouteBundle bundle) -> bundle.getSizeBytes())
+            .removalListener(this::onRemoval)
+            .build();
+
+    // Bundles being parsed, moved into bundles once complete
+    private final ConcurrentMap<RouteKey, CompletableFuture<RouteBundle>> loading = new ConcurrentHashMap<>();
+
+    // Bundles that failed to load, not retried until the routes are invalidated or one of their files changes
+    private final Set<RouteKey> failed = ConcurrentHashMap.newKeySet();
+
+    // Bumped on invalidation so loads started before it aren't cached
+    private final AtomicInteger generation = new AtomicInteger();
+
+    // Route render code last asked for and its bundle. Lookups of the active
+    // route skip the cache, Guava records every read in a queue. Evicting it
+    // from the cache keeps it here; explicit removals (release, invalidation,
+    // reload) bump removals and drop it, so a lookup racing one never keeps
+    // the removed bundle.
+    private volatile RouteKey activeKey;
+    private volatile RouteBundle activeBundle;
+    private final AtomicInteger removals = new AtomicInteger();
+
+    // Load statistics, keyed by resource path (guarded by this)
+    private final Map<String, FileLoadStats> fileStats = new LinkedHashMap<>();
+    private int bundleLoadCount = 0;
+    private long bundleLoadNanos = 0;
+
+    private RoutePack routePack;
+    private boolean routePackLoaded = false;
+
+    private volatile boolean externalRoutesEnabled = false;
+    private volatile double routeTolerance = 0;
+
+    // Route points before and after simplification (guarded by this)
+    private long routePointsLoaded = 0;
+    private long routePointsKept = 0;
+
+    @Inject
+    public RouteRepository(ScheduledExecutorService executor, RouteRegistry registry)
+    {
+        this.executor = executor;
+        this.registry = registry;
+    }
+
+    // Start parsing in the background if it isn't loaded or loading already
+    public void preload(RouteKey key)
+    {
+        if (bundles.getIfPresent(key) == null)
+        {
+            loadIfNeeded(key);
+        }
+    }
+
+    // Non-blocking, returns null until the bundle has been parsed
+    public RouteBundle getLoadedBundle(Trial trial, Difficulty difficulty, RouteVariant variant)
+    {
+        RouteKey key = RouteKey.of(trial, difficulty, variant);
+        activeKey = key;
+
+        RouteBundle active = activeBundle;
+        if (active != null && active.getKey() == key)
+        {
+            return active;
+        }
+
+        int removalCount = removals.get();
+        RouteBundle bundle = bundles.getIfPresent(key);
+        if (bundle == null)
+        {
+            loadIfNeeded(key);
+            return null;
+        }
+
+        activeBundle = bundle;
+        if (removals.get() != removalCount)
+        {
+            activeBundle = null;
+        }
+        return bundle;
+    }
+
+    // Runs the callback once a bundle getLoadedBundle() returned null for has been parsed,
+    // on the loading thread. Not run if the load fails, so a broken route isn't retried every frame
+    public void whenLoaded(Trial trial, Difficulty difficulty, RouteVariant variant, Runnable callback)
+    {
+        RouteKey key = RouteKey.of(trial, difficulty, variant);
+        CompletableFuture<RouteBundle> future = loading.get(key);
+        if (future != null)
+        {
+            future.thenRun(callback);
+        }
+        else if (bundles.getIfPresent(key) != null)
+        {
+            // Finished in between
+            callback.run();
+        }
+    }
+
+    // Blocks until the bundle has been parsed
+    public RouteBundle getBundle(Trial trial, Difficulty difficulty, RouteVariant variant)
+    {
+        RouteKey key = RouteKey.of(trial, difficulty, variant);
+        RouteBundle bundle = bundles.getIfPresent(key);
+        return bundle != null ? bundle : load(key).join();
+    }
+
+    // Drops a finished trial's bundles, they are re-read from the pack if it is started again
+    public void release(Trial trial)
+    {
+        bundles.asMap().keySet().removeIf(key -> key.getTrial() == trial);
+
+        RouteBundle active = activeBundle;
+        if (active != null && active.getKey().getTrial() == trial)
+        {
+            activeBundle = null;
+        }
+    }
+
+    public void setExternalRoutesEnabled(boolean enabled)
+    {
+        if (externalRoutesEnabled != enabled)
+        {
+            externalRoutesEnabled = enabled;
+
+            // Loaded bundles were built with (or without) the external files
+            invalidateAll();
+        }
+    }
+
+    // Route points closer than this many tiles to a straight line are dropped at load time
+    public void setRouteTolerance(double tolerance)
+    {
+        if (routeTolerance != tolerance)
+        {
+            routeTolerance = tolerance;
+            invalidateAll();
+        }
+    }
+
+    // Drops every loaded bundle, they are re-read on next use
+    void invalidateAll()
+    {
+        generation.incrementAndGet();
+        loading.clear();
+        failed.clear();
+        bundles.invalidateAll();
+        activeBundle = null;
+    }
+
+    // Drops the bundles an added or removed external folder can change, other routes stay loaded
+    void invalidateExternalFolder(Path path)
+    {
+        Path relative = RouteResources.EXTERNAL_ROUTES_DIR.relativize(path);
+        if (relative.toString().isEmpty())
+        {
+            invalidateAll();
+            return;
+        }
+
+        Trial trial = Trial.fromKey(relative.getName(0).toString());
+        Difficulty difficulty = relative.getNameCount() > 1 ? Difficulty.fromKey(relative.getName(1).toString()) : null;
+        String variantKey = relative.getNameCount() > 2 ? RouteVariant.normalize(relative.getName(2).toString()) : null;
+        if (trial == null || (relative.getNameCount() > 1 && difficulty == null)
+                || (relative.getNameCount() > 2 && variantKey == null))
+        {
+            // Not a route folder, no bundle reads from it
+            return;
+        }
+
+        Predicate<RouteKey> under = key -> key.getTrial() == trial
+                && (difficulty == null || key.getDifficulty() == difficulty)
+                && (variantKey == null || key.getVariant().getKey().equals(variantKey));
+
+        // Loads in flight may have missed the folder's files, they are started again on next use
+        if (loading.keySet().removeIf(under))
+        {
+            generation.incrementAndGet();
+        }
+        failed.removeIf(under);
+        bundles.asMap().keySet().removeIf(under);
+
+        RouteBundle active = activeBundle;
+        if (active != null && under.test(active.getKey()))
+        {
+            activeBundle = null;
+        }
+    }
+
+    // Re-parses a single changed external file and swaps it into the loaded bundle
+    void reloadExternalFile(Path path)
+    {
+        Path relative = RouteResources.EXTERNAL_ROUTES_DIR.relativize(path);
+        if (relative.getNameCount() != 4)
+        {
+            return;
+        }
+
+        Trial trial = Trial.fromKey(relative.getName(0).toString());
+        Difficulty difficulty = Difficulty.fromKey(relative.getName(1).toString());
+        RouteFile file = RouteFile.fromFileName(relative.getName(3).toString());
+        if (trial == null || difficulty == null || file == null)
+        {
+            log.debug("Ignoring unknown external route file {}", path);
+            return;
+        }
+
+        // A route file exists in this folder, so the variant is real
+        RouteVariant variant = RouteVariant.of(relative.getName(2).toString());
+
+        RouteKey key = RouteKey.of(trial, difficulty, variant);
+
+        // The change may have fixed it
+        failed.remove(key);
+
+        if (loading.containsKey(key))
+        {
+            // Still loading and may have read the old file, load it again on next use
+            generation.incrementAndGet();
+            loading.remove(key);
+            return;
+        }
+
+        RouteBundle active = activeBundle;
+        RouteBundle bundle = bundles.getIfPresent(key);
+        if (bundle == null && active != null && active.getKey() == key)
+        {
+            // Evicted from the cache but still pinned
+            bundle = active;
+        }
+        if (bundle == null)
+        {
+            // Not loaded, the file is picked up on first load
+            return;
+        }
+
+        // Falls back to the bundled file if the external one was deleted
+        PackedRecords records = readFile(getRoutePack(), key, file);
+        RouteBundle updated = bundle.with(file, records, routeTolerance);
+        if (bundles.asMap().replace(key, bundle, updated))
+        {
+            log.debug("Reloaded {} for {}", file.getFileName(), key);
+        }
+        else if (bundle == active && activeBundle == active)
+        {
+            activeBundle = updated;
+            log.debug("Reloaded {} for {}", file.getFileName(), key);
+        }
+    }
+
+    // Summary of every load so far, logged when a trial ends and on shutdown
+    public synchronized void logLoadStats()
+    {
+        if (!log.isDebugEnabled() || bundleLoadCount == 0)
+        {
+            return;
+        }
+
+        log.debug("Loaded {} route bundles in {}ms, simplification kept {} of {} route points ({}% removed)",
+                bundleLoadCount, TimeUnit.NANOSECONDS.toMillis(bundleLoadNanos), routePointsKept, routePointsLoaded,
+                reductionPercent(routePointsLoaded, routePointsKept));
+        for (FileLoadStats stats : fileStats.values())
+        {
+            log.debug("  {}: {} loads, {} entries, {} malformed, {}ms", stats.getPath(), stats.getLoadCount(),
+                    stats.getEntries(), stats.getMalformed(), stats.getLoadTime(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    // Called every frame while the bundle is missing, so checks before allocating a future
+    private void loadIfNeeded(RouteKey key)
+    {
+        if (!loading.containsKey(key) && !failed.contains(key))
+        {
+            load(key);
+        }
+    }
+
+    private CompletableFuture<RouteBundle> load(RouteKey key)
+    {
+        CompletableFuture<RouteBundle> future = new CompletableFuture<>();
+        CompletableFuture<RouteBundle> existing = loading.putIfAbsent(key, future);
+        if (existing != null)
+        {
+            return existing;
+        }
+
+        int loadGeneration = generation.get();
+        executor.execute(() ->
+        {
+            try
+            {
+                RouteBundle bundle = loadBundle(key);
+                if (generation.get() == loadGeneration)
+                {
+                    bundles.put(key, bundle);
+
+                    // Pinned straight away, the cache may evict a heavy bundle on put
+                    if (key == activeKey)
+                    {
+                        activeBundle = bundle;
+                        if (generation.get() != loadGeneration)
+                        {
+                            // Invalidated while pinning
+                            activeBundle = null;
+                        }
+                    }
+                }
+                future.complete(bundle);
+            }
+            catch (RuntimeException e)
+            {
+                log.warn("Unable to load route bundle {}", key, e);
+                if (generation.get() == loadGeneration)
+                {
+                    failed.add(key);
+                }
+                future.completeExceptionally(e);
+            }
+            finally
+            {
+                loading.remove(key, future);
+            }
+        });
+        return future;
+    }
+
+    private void onRemoval(RemovalNotification<RouteKey, RouteBundle> notification)
+    {
+        if (notification.wasEvicted())
+        {
+            // The active bundle stays pinned
+            log.debug("Evicted route bundle {} ({} bytes)", notification.getKey(), notification.getValue().getSizeBytes());
+            return;
+        }
+
+        removals.incrementAndGet();
+        if (activeBundle == notification.getValue())
+        {
+            activeBundle = null;
+        }
+    }
+
+    private RouteBundle loadBundle(RouteKey key)
+    {
+        long start = System.nanoTime();
+
+        RoutePack pack = getRoutePack();
+
+        Map<RouteFile, PackedRecords> files = new EnumMap<>(RouteFile.class);
+        for (RouteFile file : RouteFile.values())
+        {
+            files.put(file, readFile(pack, key, file));
+        }
+
+        RouteBundle bundle = buildBundle(key, files, routeTolerance);
+
+        int routePoints = files.get(RouteFile.ROUTE).size();
+        if (bundle.getRoute().size() < routePoints)
+        {
+            log.debug("Simplified route {} from {} to {} points ({}% removed)", key, routePoints, bundle.getRoute().size(),
+                    reductionPercent(routePoints, bundle.getRoute().size()));
+        }
+
+        long elapsed = System.nanoTime() - start;
+        synchronized (this)
+        {
+            bundleLoadCount++;
+            bundleLoadNanos += elapsed;
+            routePointsLoaded += routePoints;
+            routePointsKept += bundle.getRoute().size();
+        }
+
+        log.debug("Loaded route bundle {} in {}ms ({} route tiles, {} supplies, {} motes, {} rapids, {} pillars)",
+                key, TimeUnit.NANOSECONDS.toMillis(elapsed), bundle.getRoute().size(), bundle.getSupplies().size(),
+                bundle.getCrystalMotes().size(), bundle.getRapids().size(), bundle.getPillars().size());
+
+        return bundle;
+    }
+
+    // The pack is read once, on first use
+    private synchronized RoutePack getRoutePack()
+    {
+        if (routePackLoaded)
+        {
+            return routePack;
+        }
+        routePackLoaded = true;
+
+        long start = System.nanoTime();
+        try
+        {
+            routePack = RoutePackReader.load();
+        }
+        catch (IOException e)
+        {
+            log.warn("Unable to read route pack, falling back to route JSON", e);
+            return null;
+        }
+
+        if (routePack == null)
+        {
+            log.debug("No route pack on the classpath, using route JSON");
+            return null;
+        }
+
+        recordFile(RoutePackReader.RESOURCE, routePack.getEntryCount(), 0, System.nanoTime() - start);
+        return routePack;
+    }
+
+    private static RouteBundle buildBundle(RouteKey key, Map<RouteFile, PackedRecords> files, double routeTolerance)
+    {
+        return new RouteBundle(
+                key,
+                TileSet.of(files.get(RouteFile.ROUTE)).simplify(routeTolerance).withDetailLevels(),
+                SupplySet.of(files.get(RouteFile.SUPPLIES)),
+                TileSet.of(files.get(RouteFile.CRYSTAL_MOTES)),
+                TileSet.of(files.get(RouteFile.RAPIDS)),
+                PillarSet.of(files.get(RouteFile.PILLARS))
+        );
+    }
+
+    private PackedRecords readFile(RoutePack pack, RouteKey key, RouteFile file)
+    {
+        if (externalRoutesEnabled)
+        {
+            Path external = RouteResources.buildExternalRoutePath(
+                    key.getTrial(), key.getDifficulty(), key.getVariant(), file.getFileName());
+            if (Files.isRegularFile(external))
+            {
+                try
+                {
+                    return readJson(external.toString(), Files.newInputStream(external), file);
+                }
+                catch (IOException e)
+                {
+                    log.warn("Unable to open external route file {}", external, e);
+                }
+            }
+        }
+
+        // Known missing, e.g. rapids for Gwenith Glide
+        if (registry.isAvailable() && !registry.hasFile(key, file))
+        {
+            return PackedRecords.EMPTY;
+        }
+
+        if (pack != null && pack.contains(key))
+        {
+            return readPacked(pack, key, file);
+        }
+
+        String path = buildPath(key, file);
+        InputStream in = RouteRepository.class.getResourceAsStream(path);
+        if (in == null)
+        {
+            return PackedRecords.EMPTY;
+        }
+        return readJson(path, in, file);
+    }
+
+    private PackedRecords readPacked(RoutePack pack, RouteKey key, RouteFile file)
+    {
+        PackedRecords records = pack.get(key, file);
+        if (records == null)
+        {
+            return PackedRecords.EMPTY;
+        }
+
+        recordFile(buildPath(key, file), records.size(), 0, 0);
+        return records;
+    }
+
+    private PackedRecords readJson(String path, InputStream in, RouteFile file)
+    {
+        long start = System.nanoTime();
+
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+        {
+            RouteJsonReader.Result result = RouteJsonReader.read(reader, file);
+
+            for (String error : result.errors)
+            {
+                log.warn("Skipped malformed entry in {}: {}", path, error);
+            }
+
+            recordFile(path, result.records.size(), result.errors.size(), System.nanoTime() - start);
+            return result.records;
+        }
+        catch (IOException | IllegalStateException e)
+        {
+            // Not a JSON array of objects, nothing in the file can be trusted
+            log.warn("Unable to load route resource {}", path, e);
+            return PackedRecords.EMPTY;
+        }
+    }
+
+    // Share of route points removed by simplification, 0 if there were none
+    private static long reductionPercent(long loaded, long kept)
+    {
+        return loaded == 0 ? 0 : Math.round(100.0 * (loaded - kept) / loaded);
+    }
+
+    private static String buildPath(RouteKey key, RouteFile file)
+    {
+        return RouteResources.buildRoutePath(key.getTrial(), key.getDifficulty(), key.getVariant(), file.getFileName());
+    }
+
+    private synchronized void recordFile(String path, int entries, int malformed, long nanos)
+    {
+        fileStats.merge(path, new FileLoadStats(path, 1, entries, malformed, nanos), FileLoadStats::plus);
+    }
+
+    private static final class FileLoadStats
+    {
+        private final String path;
+        private final int loadCount;
+        private final int entries;
+        private final int malformed;
+        private final long nanos;
+
+        private FileLoadStats(String path, int loadCount, int entries, int malformed, long nanos)
+        {
+            this.path = path;
+            this.loadCount = loadCount;
+            this.entries = entries;
+            this.malformed = malformed;
+            this.nanos = nanos;
+        }
+
+        private FileLoadStats plus(FileLoadStats next)
+        {
+            return new FileLoadStats(path, loadCount + next.loadCount, next.entries, next.malformed, nanos + next.nanos);
+        }
+
+        public String getPath()
+        {
+            return path;
+        }
+
+        public int getLoadCount()
+        {
+            return loadCount;
+        }
+
+        public int getEntries()
+        {
+            return entries;
+        }
+
+        // Entries skipped on the last load
+        public int getMalformed()
+        {
+            return malformed;
+        }
+
+        public long getLoadTime(TimeUnit unit)
+        {
+            return unit.convert(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.BarracudaTrials.route;
+
+import java.util.Arrays;
+
+// Lost supply metadata as parallel arrays, sorted by object id for lookups without boxing
+public final class SupplySet
+{
+    public static final SupplySet EMPTY = new SupplySet(new int[0], new int[0], new int[0], new int[0]);
+
+    private final int[] objectId;
+    private final int[] varbit;
+    private final int[] order;
+    private final int[] index;
+
+    private SupplySet(int[] objectId, int[] varbit, int[] order, int[] index)
+    {
+        this.objectId = objectId;
+        this.varbit = varbit;
+        this.order = order;
+        this.index = index;
+    }
+
+    // Records are varbit, objectId, order, index (see RouteFile)
+    static SupplySet of(PackedRecords records)
+    {
+        int count = records.size();
+        if (count == 0)
+        {
+            return EMPTY;
+        }
+
+        long[] byId = new long[count];
+        for (int i = 0; i < count; i++)
+        {
+            byId[i] = ((long) records.get(i, 1) << 32) | i;
+        }
+        Arrays.sort(byId);
+
+        int[] objectId = new int[count];
+        int[] varbit = new int[count];
+        int[] order = new int[count];
+        int[] index = new int[count];
+        int n = 0;
+        for (long entry : byId)
+        {
+            int i = (int) entry;
+            int id = records.get(i, 1);
+
+            // Later entries win for duplicate ids
+            if (n > 0 && objectId[n - 1] == id)
+            {
+                n--;
+            }
+
+            objectId[n] = id;
+            varbit[n] = records.get(i, 0);
+            order[n] = records.get(i, 2);
+            index[n] = records.get(i, 3);
+            n++;
+        }
+
+        return new SupplySet(
+                Arrays.copyOf(objectId, n),
+                Arrays.copyOf(varbit, n),
+                Arrays.copyOf(order, n),
+                Arrays.copyOf(index, n)
+        );
+    }
+
+    public int size()
+    {
+        return objectId.length;
+    }
+
+    public boolean isEmpty()
+    {
+        return objectId.length == 0;
+    }
+
+    // Returns -1 if the object isn't a lost supply on this route
+    public int indexOf(int id)
+    {
+        int i = Arrays.binarySearch(objectId, id);
+        return i >= 0 ? i : -1;
+    }
+
+    public int getObjectId(int i)
+    {
+        return objectId[i];
+    }
+
+    public int getVarbit(int i)
+    {
+        return varbit[i];
+    }
+
+    public int getOrder(int i)
+    {
+        return order[i];
+    }
+
+    // Number shown over the crate
+    public int getIndex(int i)
+    {
+        return index[i];
+    }
+}
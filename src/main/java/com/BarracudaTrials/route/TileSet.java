@@ -0,0 +1,386 @@
+package com.BarracudaTrials.route;
+
+import java.util.Arrays;
+
+/*
+Route tiles, crystal motes or rapids stored as parallel world coordinate arrays,
+sorted by order. Points for an order are the index range [start(order), end(order)),
+so render code can walk them without creating a WorldPoint per point.
+
+Each order is also split into chunks of up to CHUNK_SIZE consecutive points
+with a world bounding box, so overlays can reject a chunk that is off the
+scene or off screen without looking at its points.
+
+The route additionally gets detail levels (withDetailLevels): each point knows
+the coarsest level it is kept at, so far parts of the path can be drawn with
+fewer vertices.
+*/
+public final class TileSet
+{
+    public static final int CHUNK_SIZE = 32;
+
+    // Level 0 is every point, level n keeps what simplifying with DETAIL_TOLERANCE[n - 1] tiles keeps
+    public static final int DETAIL_LEVELS = 3;
+    private static final double[] DETAIL_TOLERANCE = {1, 2, 4};
+
+    public static final TileSet EMPTY = new TileSet(new int[0], new int[0], new int[0], 0, new int[0], new int[0], null);
+
+    private final int[] x;
+    private final int[] y;
+    private final int[] plane;
+
+    // Index ranges by (order - minOrder)
+    private final int minOrder;
+    private final int[] orderStart;
+    private final int[] orderEnd;
+
+    // Chunk index ranges by (order - minOrder), chunks never span two orders
+    private final int[] orderFirstChunk;
+    private final int[] orderEndChunk;
+
+    // Point range and world bounds (inclusive) of each chunk
+    private final int[] chunkStart;
+    private final int[] chunkEnd;
+    private final int[] chunkMinX;
+    private final int[] chunkMinY;
+    private final int[] chunkMaxX;
+    private final int[] chunkMaxY;
+
+    // Coarsest detail level each point is kept at, null if every point is kept at all levels
+    private final byte[] detail;
+
+    private TileSet(int[] x, int[] y, int[] plane, int minOrder, int[] orderStart, int[] orderEnd, byte[] detail)
+    {
+        this.x = x;
+        this.y = y;
+        this.plane = plane;
+        this.minOrder = minOrder;
+        this.orderStart = orderStart;
+        this.orderEnd = orderEnd;
+        this.detail = detail;
+
+        int chunks = 0;
+        for (int slot = 0; slot < orderStart.length; slot++)
+        {
+            chunks += (orderEnd[slot] - orderStart[slot] + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        }
+
+        orderFirstChunk = new int[orderStart.length];
+        orderEndChunk = new int[orderStart.length];
+        chunkStart = new int[chunks];
+        chunkEnd = new int[chunks];
+        chunkMinX = new int[chunks];
+        chunkMinY = new int[chunks];
+        chunkMaxX = new int[chunks];
+        chunkMaxY = new int[chunks];
+
+        int c = 0;
+        for (int slot = 0; slot < orderStart.length; slot++)
+        {
+            orderFirstChunk[slot] = c;
+            for (int first = orderStart[slot]; first < orderEnd[slot]; first += CHUNK_SIZE)
+            {
+                int last = Math.min(first + CHUNK_SIZE, orderEnd[slot]);
+                chunkStart[c] = first;
+                chunkEnd[c] = last;
+                chunkMinX[c] = Integer.MAX_VALUE;
+                chunkMinY[c] = Integer.MAX_VALUE;
+                chunkMaxX[c] = Integer.MIN_VALUE;
+                chunkMaxY[c] = Integer.MIN_VALUE;
+                for (int i = first; i < last; i++)
+                {
+                    chunkMinX[c] = Math.min(chunkMinX[c], x[i]);
+                    chunkMinY[c] = Math.min(chunkMinY[c], y[i]);
+                    chunkMaxX[c] = Math.max(chunkMaxX[c], x[i]);
+                    chunkMaxY[c] = Math.max(chunkMaxY[c], y[i]);
+                }
+                c++;
+            }
+            orderEndChunk[slot] = c;
+        }
+    }
+
+    // Records are regionId, regionX, regionY, z, order (see RouteFile)
+    static TileSet of(PackedRecords records)
+    {
+        int count = records.size();
+        if (count == 0)
+        {
+            return EMPTY;
+        }
+
+        int[] x = new int[count];
+        int[] y = new int[count];
+        int[] plane = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            int regionId = records.get(i, 0);
+            x[i] = ((regionId >>> 8) << 6) + records.get(i, 1);
+            y[i] = ((regionId & 0xFF) << 6) + records.get(i, 2);
+            plane[i] = records.get(i, 3);
+        }
+
+        int orders = records.getOrderCount();
+        int minOrder = records.getOrder(0);
+        int maxOrder = records.getOrder(orders - 1);
+
+        int[] orderStart = new int[maxOrder - minOrder + 1];
+        int[] orderEnd = new int[maxOrder - minOrder + 1];
+        for (int o = 0; o < orders; o++)
+        {
+            int slot = records.getOrder(o) - minOrder;
+            orderStart[slot] = records.getOrderStart(o);
+            orderEnd[slot] = records.getOrderStart(o) + records.getOrderLength(o);
+        }
+
+        return new TileSet(x, y, plane, minOrder, orderStart, orderEnd, null);
+    }
+
+    /*
+    Douglas-Peucker simplification of each order's path: points closer than
+    tolerance (in tiles) to the simplified line are dropped. The first and last
+    point of every order and both sides of a plane change are always kept.
+    Only meant for route.json, marker sets need every tile.
+    */
+    TileSet simplify(double tolerance)
+    {
+        if (tolerance <= 0 || x.length < 3)
+        {
+            return this;
+        }
+
+        boolean[] keep = new boolean[x.length];
+        markKept(tolerance, keep, new int[2 * x.length]);
+
+        // kept[i] = points kept before index i, used to remap the order ranges
+        int[] kept = new int[x.length + 1];
+        for (int i = 0; i < x.length; i++)
+        {
+            kept[i + 1] = kept[i] + (keep[i] ? 1 : 0);
+        }
+
+        int count = kept[x.length];
+        if (count == x.length)
+        {
+            return this;
+        }
+
+        int[] sx = new int[count];
+        int[] sy = new int[count];
+        int[] splane = new int[count];
+        for (int i = 0; i < x.length; i++)
+        {
+            if (keep[i])
+            {
+                sx[kept[i]] = x[i];
+                sy[kept[i]] = y[i];
+                splane[kept[i]] = plane[i];
+            }
+        }
+
+        int[] sStart = new int[orderStart.length];
+        int[] sEnd = new int[orderEnd.length];
+        for (int slot = 0; slot < orderStart.length; slot++)
+        {
+            sStart[slot] = kept[orderStart[slot]];
+            sEnd[slot] = kept[orderEnd[slot]];
+        }
+
+        return new TileSet(sx, sy, splane, minOrder, sStart, sEnd, null);
+    }
+
+    /*
+    Same simplification as simplify, but the points are kept and tagged with the
+    coarsest level whose tolerance still keeps them. Endpoints and plane changes
+    are tagged DETAIL_LEVELS, so every level still joins up.
+    */
+    TileSet withDetailLevels()
+    {
+        if (x.length < 3)
+        {
+            return this;
+        }
+
+        byte[] detail = new byte[x.length];
+        boolean[] keep = new boolean[x.length];
+        int[] stack = new int[2 * x.length];
+        for (int level = 1; level <= DETAIL_LEVELS; level++)
+        {
+            Arrays.fill(keep, false);
+            markKept(DETAIL_TOLERANCE[level - 1], keep, stack);
+            for (int i = 0; i < x.length; i++)
+            {
+                if (keep[i])
+                {
+                    detail[i] = (byte) level;
+                }
+            }
+        }
+
+        return new TileSet(x, y, plane, minOrder, orderStart, orderEnd, detail);
+    }
+
+    // Marks the points each order's path needs at this tolerance, split where the plane changes
+    private void markKept(double tolerance, boolean[] keep, int[] stack)
+    {
+        for (int slot = 0; slot < orderStart.length; slot++)
+        {
+            int start = orderStart[slot];
+            int end = orderEnd[slot];
+
+            int runStart = start;
+            for (int i = start + 1; i <= end; i++)
+            {
+                if (i == end || plane[i] != plane[runStart])
+                {
+                    keepPath(runStart, i - 1, tolerance * tolerance, keep, stack);
+                    runStart = i;
+                }
+            }
+        }
+    }
+
+    // Marks the points of [first, last] that must stay, iteratively to avoid deep recursion
+    private void keepPath(int first, int last, double toleranceSq, boolean[] keep, int[] stack)
+    {
+        keep[first] = true;
+        keep[last] = true;
+
+        int top = 0;
+        stack[top++] = first;
+        stack[top++] = last;
+        while (top > 0)
+        {
+            int b = stack[--top];
+            int a = stack[--top];
+
+            int farthest = -1;
+            double farthestSq = toleranceSq;
+            for (int i = a + 1; i < b; i++)
+            {
+                double d = distanceSq(i, a, b);
+                if (d > farthestSq)
+                {
+                    farthest = i;
+                    farthestSq = d;
+                }
+            }
+
+            if (farthest >= 0)
+            {
+                keep[farthest] = true;
+                stack[top++] = a;
+                stack[top++] = farthest;
+                stack[top++] = farthest;
+                stack[top++] = b;
+            }
+        }
+    }
+
+    // Squared distance from point i to the segment a-b, in tiles
+    private double distanceSq(int i, int a, int b)
+    {
+        double dx = x[b] - x[a];
+        double dy = y[b] - y[a];
+        double px = x[i] - x[a];
+        double py = y[i] - y[a];
+
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq == 0 ? 0 : Math.max(0, Math.min(1, (px * dx + py * dy) / lengthSq));
+
+        double ex = px - t * dx;
+        double ey = py - t * dy;
+        return ex * ex + ey * ey;
+    }
+
+    public int size()
+    {
+        return x.length;
+    }
+
+    public boolean isEmpty()
+    {
+        return x.length == 0;
+    }
+
+    public int start(int order)
+    {
+        int slot = order - minOrder;
+        return slot >= 0 && slot < orderStart.length ? orderStart[slot] : 0;
+    }
+
+    public int end(int order)
+    {
+        int slot = order - minOrder;
+        return slot >= 0 && slot < orderEnd.length ? orderEnd[slot] : 0;
+    }
+
+    public int getChunkCount()
+    {
+        return chunkStart.length;
+    }
+
+    // Chunks of an order are the index range [firstChunk(order), endChunk(order))
+    public int firstChunk(int order)
+    {
+        int slot = order - minOrder;
+        return slot >= 0 && slot < orderFirstChunk.length ? orderFirstChunk[slot] : 0;
+    }
+
+    public int endChunk(int order)
+    {
+        int slot = order - minOrder;
+        return slot >= 0 && slot < orderEndChunk.length ? orderEndChunk[slot] : 0;
+    }
+
+    public int chunkStart(int chunk)
+    {
+        return chunkStart[chunk];
+    }
+
+    public int chunkEnd(int chunk)
+    {
+        return chunkEnd[chunk];
+    }
+
+    public int getChunkMinX(int chunk)
+    {
+        return chunkMinX[chunk];
+    }
+
+    public int getChunkMinY(int chunk)
+    {
+        return chunkMinY[chunk];
+    }
+
+    public int getChunkMaxX(int chunk)
+    {
+        return chunkMaxX[chunk];
+    }
+
+    public int getChunkMaxY(int chunk)
+    {
+        return chunkMaxY[chunk];
+    }
+
+    public int getX(int i)
+    {
+        return x[i];
+    }
+
+    public int getY(int i)
+    {
+        return y[i];
+    }
+
+    public int getPlane(int i)
+    {
+        return plane[i];
+    }
+
+    // The point is part of the path at this detail level and every finer one
+    public int getDetail(int i)
+    {
+        return detail == null ? DETAIL_LEVELS : detail[i];
+    }
+}
@@ -3,9 +3,17 @@ package com.BarracudaTrials.util;
 import com.BarracudaTrials.model.Trial;
 import com.BarracudaTrials.model.Difficulty;
 import com.BarracudaTrials.model.RouteVariant;
+import net.runelite.client.RuneLite;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public final class RouteResources
 {
+    // Same <trial>/<difficulty>/<variant>/<file> layout as the bundled routes
+    public static final Path EXTERNAL_ROUTES_DIR =
+            RuneLite.RUNELITE_DIR.toPath().resolve("barracuda-trials").resolve("routes");
+
     private RouteResources() {}
 
     public static String buildRoutePath(
@@ -24,39 +32,26 @@ public final class RouteResources
         );
     }
 
-    public static String buildSuppliesPath(
-            Trial trial,
-            Difficulty difficulty,
-            RouteVariant variant
-    )
+    // Whether <trial>/<difficulty>/<variant> exists under the external routes folder
+    public static boolean externalVariantExists(Trial trial, Difficulty difficulty, String variantKey)
     {
-        return buildRoutePath(trial, difficulty, variant, "supplies.json");
+        return Files.isDirectory(EXTERNAL_ROUTES_DIR
+                .resolve(trial.getKey())
+                .resolve(difficulty.getKey())
+                .resolve(variantKey));
     }
 
-    public static String buildCrystalMotesPath(
+    public static Path buildExternalRoutePath(
             Trial trial,
             Difficulty difficulty,
-            RouteVariant variant
-    )
-    {
-        return buildRoutePath(trial, difficulty, variant, "crystal_motes.json");
-    }
-
-    public static String buildRapidsPath(
-            Trial trial,
-            Difficulty difficulty,
-            RouteVariant variant
-    )
-    {
-        return buildRoutePath(trial, difficulty, variant, "rapids.json");
-    }
-
-    public static String buildPillarsPath(
-            Trial trial,
-            Difficulty difficulty,
-            RouteVariant variant
+            RouteVariant variant,
+            String fileName
     )
     {
-        return buildRoutePath(trial, difficulty, variant, "pillars.json");
+        return EXTERNAL_ROUTES_DIR
+                .resolve(trial.getKey())
+                .resolve(difficulty.getKey())
+                .resolve(variant.getKey())
+                .resolve(fileName);
     }
 }
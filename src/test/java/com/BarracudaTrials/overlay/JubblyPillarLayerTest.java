@@ -0,0 +1,67 @@
+package com.BarracudaTrials.overlay;
+
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.geom.Area;
+import java.awt.geom.Path2D;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+// The merged range outline has to cover exactly the tiles the old per-tile Area union did
+public class JubblyPillarLayerTest
+{
+    @Test
+    public void rangeOutlineMatchesUnionOfTiles()
+    {
+        for (int radius = 1; radius <= 15; radius++)
+        {
+            int[][] outline = JubblyPillarLayer.buildRangeOutline(radius);
+
+            Path2D.Float path = new Path2D.Float();
+            path.moveTo(outline[0][0], outline[1][0]);
+            for (int i = 1; i < outline[0].length; i++)
+            {
+                path.lineTo(outline[0][i], outline[1][i]);
+            }
+            path.closePath();
+
+            Area tiles = new Area();
+            for (int dy = -radius; dy <= radius; dy++)
+            {
+                for (int dx = -radius; dx <= radius; dx++)
+                {
+                    if (JubblyPillarLayer.isInRangeShape(dx, dy, radius))
+                    {
+                        tiles.add(new Area(new Rectangle(dx, dy, 1, 1)));
+                    }
+                }
+            }
+
+            Area difference = new Area(path);
+            difference.exclusiveOr(tiles);
+            assertTrue("radius " + radius, difference.isEmpty());
+        }
+    }
+
+    @Test
+    public void rangeOutlineOnlyKeepsTurningCorners()
+    {
+        int[][] outline = JubblyPillarLayer.buildRangeOutline(15);
+        int n = outline[0].length;
+        for (int i = 0; i < n; i++)
+        {
+            int prev = (i + n - 1) % n;
+            int next = (i + 1) % n;
+            int inX = outline[0][i] - outline[0][prev];
+            int inY = outline[1][i] - outline[1][prev];
+            int outX = outline[0][next] - outline[0][i];
+            int outY = outline[1][next] - outline[1][i];
+
+            // Axis-aligned edges that change direction at every corner
+            assertTrue(inX == 0 || inY == 0);
+            assertEquals("corner " + i, 0, inX * outX + inY * outY);
+        }
+    }
+}
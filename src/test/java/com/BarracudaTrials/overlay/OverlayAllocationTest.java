@@ -0,0 +1,428 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.BarracudaTrialsPlugin;
+import com.BarracudaTrials.config.Config;
+import com.BarracudaTrials.config.ConfigSnapshot;
+import com.BarracudaTrials.model.Difficulty;
+import com.BarracudaTrials.model.RouteVariant;
+import com.BarracudaTrials.model.Ship;
+import com.BarracudaTrials.model.Trial;
+import com.BarracudaTrials.route.RouteBundle;
+import com.BarracudaTrials.route.RouteRegistry;
+import com.BarracudaTrials.route.RouteRepository;
+import com.BarracudaTrials.route.SupplySet;
+import com.BarracudaTrials.route.TileSet;
+import com.sun.management.ThreadMXBean;
+import net.runelite.api.Client;
+import net.runelite.api.GameObject;
+import net.runelite.api.IndexedObjectSet;
+import net.runelite.api.ObjectComposition;
+import net.runelite.api.Perspective;
+import net.runelite.api.Player;
+import net.runelite.api.Point;
+import net.runelite.api.Scene;
+import net.runelite.api.WorldEntity;
+import net.runelite.api.WorldView;
+import net.runelite.api.coords.LocalPoint;
+import net.runelite.client.ui.overlay.Overlay;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/*
+Renders every trial layer against a still camera and checks that, once the first
+frames have projected and cached their geometry, a frame allocates nothing. The
+camera then moves once, and the geometry rebuilt for it has to be kept while it
+is still again. The client is a stub, so this covers our code and not
+RuneLite's projection.
+*/
+public class OverlayAllocationTest
+{
+    // Enough for the JIT to compile the render paths before measuring
+    private static final int WARMUP_FRAMES = 20_000;
+    private static final int MEASURED_FRAMES = 1_000;
+
+    private static final int SCENE_SIZE = 104;
+    private static final int SCENE_CENTER = SCENE_SIZE / 2 * Perspective.LOCAL_TILE_SIZE + Perspective.LOCAL_HALF_TILE_SIZE;
+    private static final int BOAT_WORLD_VIEW = 1;
+
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ScheduledExecutorService executor;
+    private RouteRepository routeRepository;
+
+    @Before
+    public void setUp()
+    {
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        executor = Executors.newSingleThreadScheduledExecutor();
+        routeRepository = new RouteRepository(executor, new RouteRegistry());
+    }
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void gwenithGlideFrameDoesNotAllocate()
+    {
+        assertFramesDoNotAllocate(Trial.GWENITH_GLIDE, false, false);
+    }
+
+    @Test
+    public void temporTantrumFrameDoesNotAllocate()
+    {
+        assertFramesDoNotAllocate(Trial.TEMPOR_TANTRUM, false, false);
+    }
+
+    @Test
+    public void jubblyJiveFrameDoesNotAllocate()
+    {
+        assertFramesDoNotAllocate(Trial.JUBBLY_JIVE, false, false);
+    }
+
+    @Test
+    public void frameWithShipDoesNotAllocate()
+    {
+        // Route detail follows the ship, whose hull is in the boat's own world view
+        assertFramesDoNotAllocate(Trial.GWENITH_GLIDE, true, false);
+    }
+
+    @Test
+    public void frameWithShipAndSuppliesDoesNotAllocate()
+    {
+        // Supply areas and their number labels are cached per camera version
+        assertFramesDoNotAllocate(Trial.TEMPOR_TANTRUM, true, true);
+    }
+
+    private void assertFramesDoNotAllocate(Trial trial, boolean withShip, boolean withSupplies)
+    {
+        Difficulty difficulty = Difficulty.SWORDFISH;
+        RouteBundle bundle = routeRepository.getBundle(trial, difficulty, RouteVariant.WIKI);
+        assertNotNull(bundle);
+
+        // Scene centred on the start of the first route segment
+        TileSet route = bundle.getRoute();
+        int first = route.start(1);
+        int plane = route.getPlane(first);
+
+        Scene scene = new Stub()
+                .with("getTileHeights", new int[4][184][184])
+                .with("getTileSettings", new byte[4][184][184])
+                .with("getExtendedTileSettings", new byte[4][184][184])
+                .build(Scene.class);
+        // Moving the hull out of the boat's world view creates a LocalPoint, as RuneLite's does
+        WorldEntity boat = new Stub()
+                .with("transformToMainWorld", (Stub.Answer) args ->
+                        new LocalPoint(SCENE_CENTER + 8 * Perspective.LOCAL_TILE_SIZE, SCENE_CENTER, -1))
+                .build(WorldEntity.class);
+        IndexedObjectSet<?> worldEntities = new Stub()
+                .with("byIndex", boat)
+                .build(IndexedObjectSet.class);
+        WorldView wv = new Stub()
+                .with("getBaseX", route.getX(first) - SCENE_SIZE / 2)
+                .with("getBaseY", route.getY(first) - SCENE_SIZE / 2)
+                .with("getPlane", plane)
+                .with("getSizeX", SCENE_SIZE)
+                .with("getSizeY", SCENE_SIZE)
+                .with("getId", -1)
+                .with("isTopLevel", true)
+                .with("getScene", scene)
+                .with("worldEntities", worldEntities)
+                .build(WorldView.class);
+
+        LocalPoint center = new LocalPoint(SCENE_CENTER, SCENE_CENTER, wv);
+        Player player = new Stub()
+                .with("getLocalLocation", center)
+                .with("getWorldView", wv)
+                .build(Player.class);
+        GameObject object = new Stub()
+                .with("getLocalLocation", center)
+                .with("getConvexHull", new Polygon(new int[]{300, 340, 320}, new int[]{200, 200, 240}, 3))
+                .with("getCanvasTextLocation", new Point(320, 220))
+                .with("getWorldView", wv)
+                .build(GameObject.class);
+
+        // Every objective reads 1, so no supply counts as collected
+        Stub clientStub = new Stub()
+                .with("getTopLevelWorldView", wv)
+                .with("getWorldView", wv)
+                .with("getScene", scene)
+                .with("getLocalPlayer", player)
+                .with("getPlane", plane)
+                .with("getTileHeights", new int[4][184][184])
+                .with("getTileSettings", new byte[4][184][184])
+                .with("getCameraX", SCENE_CENTER)
+                .with("getCameraY", SCENE_CENTER - 10 * Perspective.LOCAL_TILE_SIZE)
+                .with("getCameraZ", -1500)
+                .with("getCameraPitch", 300)
+                .with("getCameraYaw", 0)
+                .with("getScale", 512)
+                .with("getViewportWidth", 765)
+                .with("getViewportHeight", 503)
+                .with("getVarbitValue", 1)
+                .with("getObjectDefinition", new Stub().build(ObjectComposition.class));
+        Client client = clientStub.build(Client.class);
+
+        Config config = new Stub()
+                .withDefaultBoolean(true)
+                .build(Config.class);
+
+        Ship ship = null;
+        if (withShip)
+        {
+            ship = new Ship(BOAT_WORLD_VIEW);
+            ship.setHull(new Stub()
+                    .with("getLocalLocation", new LocalPoint(SCENE_CENTER, SCENE_CENTER, BOAT_WORLD_VIEW))
+                    .build(GameObject.class));
+        }
+
+        List<GameObject> supplies = withSupplies ? supplyObjects(bundle.getSupplies(), wv) : Collections.emptyList();
+
+        StubPlugin plugin = new StubPlugin(trial, difficulty, ConfigSnapshot.of(config), object, ship, supplies);
+        CameraState cameraState = new CameraState(client);
+        SceneTileCache sceneTileCache = new SceneTileCache(client);
+        TileAreaCache tileAreaCache = new TileAreaCache(client);
+        ChunkCuller chunkCuller = new ChunkCuller(client);
+        LabelCache labelCache = new LabelCache();
+
+        // The stub config's render budget is 0, so quality stays full
+        RenderBudget renderBudget = new RenderBudget();
+
+        // Selection happens on state changes, which a still scene has none of after the first
+        TrialModel trialModel = new TrialModel(client, plugin, routeRepository);
+        trialModel.prepareIfDirty();
+        assertEquals(supplies.size(), trialModel.getPrepared().getSupplyCount());
+
+        TrialOverlay overlay = new TrialOverlay(plugin, trialModel, cameraState, renderBudget,
+                new RouteLayer(client, sceneTileCache, chunkCuller),
+                new CrystalMoteLayer(sceneTileCache, tileAreaCache, chunkCuller),
+                new RapidsLayer(sceneTileCache, tileAreaCache, chunkCuller),
+                new JubblyPillarLayer(client, labelCache),
+                new JubblyBoatLayer(client, plugin),
+                new TemporBoatLayer(client, plugin),
+                new LostSuppliesLayer(client, tileAreaCache, labelCache),
+                new SpeedBoostLayer(client, plugin));
+        TrialHighlightOverlay highlightOverlay = new TrialHighlightOverlay(overlay);
+        Overlay[] overlays = {overlay, highlightOverlay};
+        Graphics2D graphics = new NullGraphics2D();
+
+        for (int i = 0; i < WARMUP_FRAMES; i++)
+        {
+            renderFrame(overlays, graphics);
+        }
+        assertFramesDoNotAllocate(overlays, graphics, trial + " with a still camera");
+
+        // One camera move rebuilds the geometry, the next still frames have to reuse it
+        clientStub.with("getCameraYaw", 256);
+        renderFrame(overlays, graphics);
+        int version = cameraState.getVersion();
+        Polygon supplyArea = supplies.isEmpty() ? null : tileAreaCache.get(supplies.get(0).getLocalLocation(), 1, version);
+
+        assertFramesDoNotAllocate(overlays, graphics, trial + " after the camera moved");
+        assertEquals(version, cameraState.getVersion());
+        if (supplyArea != null)
+        {
+            assertSame(supplyArea, tileAreaCache.get(supplies.get(0).getLocalLocation(), 1, version));
+        }
+    }
+
+    private void assertFramesDoNotAllocate(Overlay[] overlays, Graphics2D graphics, String description)
+    {
+        // Cost of reading the counter itself
+        long overhead = allocatedBytes();
+        overhead = allocatedBytes() - overhead;
+
+        long start = allocatedBytes();
+        for (int i = 0; i < MEASURED_FRAMES; i++)
+        {
+            renderFrame(overlays, graphics);
+        }
+        long allocated = allocatedBytes() - start - overhead;
+
+        assertEquals("Bytes allocated per frame in " + description, 0, allocated / MEASURED_FRAMES);
+    }
+
+    private static void renderFrame(Overlay[] overlays, Graphics2D graphics)
+    {
+        for (Overlay overlay : overlays)
+        {
+            overlay.render(graphics);
+        }
+    }
+
+    // Objects for the first order's supplies, a row of tiles east of the scene centre
+    private static List<GameObject> supplyObjects(SupplySet supplies, WorldView wv)
+    {
+        List<GameObject> objects = new ArrayList<>();
+        for (int i = 0; i < supplies.size(); i++)
+        {
+            if (supplies.getOrder(i) != 1)
+            {
+                continue;
+            }
+
+            LocalPoint lp = new LocalPoint(SCENE_CENTER + (objects.size() + 1) * 2 * Perspective.LOCAL_TILE_SIZE, SCENE_CENTER, wv);
+            objects.add(new Stub()
+                    .with("getId", supplies.getObjectId(i))
+                    .with("getLocalLocation", lp)
+                    .with("getWorldView", wv)
+                    .build(GameObject.class));
+        }
+        assertTrue(objects.size() > 1);
+        return objects;
+    }
+
+    private long allocatedBytes()
+    {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Mid-trial state with every highlight active, as the plugin would report it
+    private static class StubPlugin extends BarracudaTrialsPlugin
+    {
+        private final Trial trial;
+        private final Difficulty difficulty;
+        private final ConfigSnapshot config;
+        private final GameObject object;
+        private final Ship ship;
+        private final List<GameObject> supplies;
+
+        StubPlugin(Trial trial, Difficulty difficulty, ConfigSnapshot config, GameObject object, Ship ship,
+                   List<GameObject> supplies)
+        {
+            this.trial = trial;
+            this.difficulty = difficulty;
+            this.config = config;
+            this.object = object;
+            this.ship = ship;
+            this.supplies = supplies;
+        }
+
+        @Override
+        public Ship getShip()
+        {
+            return ship;
+        }
+
+        @Override
+        public ConfigSnapshot getConfigSnapshot()
+        {
+            return config;
+        }
+
+        @Override
+        public boolean isInTrial()
+        {
+            return true;
+        }
+
+        @Override
+        public boolean isTrialRunning()
+        {
+            return true;
+        }
+
+        @Override
+        public Trial getCurrentTrial()
+        {
+            return trial;
+        }
+
+        @Override
+        public Difficulty getCurrentDifficulty()
+        {
+            return difficulty;
+        }
+
+        @Override
+        public int getTrialTypeThisRun()
+        {
+            return difficulty.ordinal() + 2;
+        }
+
+        @Override
+        public RouteVariant getActiveVariant(Trial trial, Difficulty difficulty)
+        {
+            return RouteVariant.WIKI;
+        }
+
+        @Override
+        public int getCurrentRouteOrder()
+        {
+            return 1;
+        }
+
+        @Override
+        public int getCurrentJubblyPillarOrder()
+        {
+            return 1;
+        }
+
+        @Override
+        public GameObject getJubblyPillarObject(int pillarIndex)
+        {
+            return object;
+        }
+
+        @Override
+        public List<GameObject> getLostSupplies()
+        {
+            return supplies;
+        }
+
+        @Override
+        public boolean shouldHighlightJubblyBoat()
+        {
+            return trial == Trial.JUBBLY_JIVE;
+        }
+
+        @Override
+        public GameObject getJubblyBoatObject()
+        {
+            return object;
+        }
+
+        @Override
+        public boolean shouldHighlightTemporSouthBoat()
+        {
+            return trial == Trial.TEMPOR_TANTRUM;
+        }
+
+        @Override
+        public GameObject getTemporSouthBoat()
+        {
+            return object;
+        }
+
+        @Override
+        public int getSpeedBoostTicksRemaining()
+        {
+            return 10;
+        }
+
+        @Override
+        public int getSpeedBoostTicksMax()
+        {
+            return 20;
+        }
+    }
+}
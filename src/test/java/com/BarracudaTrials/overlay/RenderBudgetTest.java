@@ -0,0 +1,118 @@
+package com.BarracudaTrials.overlay;
+
+import com.BarracudaTrials.model.RenderQuality;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RenderBudgetTest
+{
+    private static final int BUDGET_MICROS = 1000;
+    private static final long OVER_BUDGET_NANOS = 2_000_000;
+    private static final long UNDER_BUDGET_NANOS = 100_000;
+
+    private RenderBudget budget;
+
+    @Before
+    public void setUp()
+    {
+        budget = new RenderBudget();
+    }
+
+    @Test
+    public void staysAtFullUnderBudget()
+    {
+        frames(UNDER_BUDGET_NANOS, 1000);
+        assertEquals(RenderQuality.FULL, budget.getQuality());
+    }
+
+    @Test
+    public void lowersOneLevelAtATimeDownToTheLast()
+    {
+        int frames = framesUntilChange(OVER_BUDGET_NANOS, 1000);
+        assertEquals(RenderQuality.NO_PILLAR_RANGE, budget.getQuality());
+        assertTrue("lowered after " + frames + " frames", frames >= 30 && frames < 60);
+
+        frames(OVER_BUDGET_NANOS, 1000);
+        assertEquals(RenderQuality.NO_LABELS, budget.getQuality());
+    }
+
+    @Test
+    public void raisesAfterSustainedHeadroom()
+    {
+        framesUntilChange(OVER_BUDGET_NANOS, 1000);
+
+        int frames = framesUntilChange(UNDER_BUDGET_NANOS, 1000);
+        assertEquals(RenderQuality.FULL, budget.getQuality());
+        assertTrue("raised after " + frames + " frames", frames >= 300 && frames < 400);
+    }
+
+    @Test
+    public void waitsLongerAfterAFailedRaise()
+    {
+        framesUntilChange(OVER_BUDGET_NANOS, 1000);
+        framesUntilChange(UNDER_BUDGET_NANOS, 1000);
+
+        // The raised level doesn't fit either, so it is lowered again straight away
+        framesUntilChange(OVER_BUDGET_NANOS, 1000);
+        assertEquals(RenderQuality.NO_PILLAR_RANGE, budget.getQuality());
+
+        int frames = framesUntilChange(UNDER_BUDGET_NANOS, 2000);
+        assertEquals(RenderQuality.FULL, budget.getQuality());
+        assertTrue("raised after " + frames + " frames", frames >= 600 && frames < 700);
+    }
+
+    @Test
+    public void backoffDecaysAfterHoldingFull()
+    {
+        // Two failed raises, the next one would wait four times as long
+        framesUntilChange(OVER_BUDGET_NANOS, 1000);
+        framesUntilChange(UNDER_BUDGET_NANOS, 1000);
+        framesUntilChange(OVER_BUDGET_NANOS, 1000);
+        framesUntilChange(UNDER_BUDGET_NANOS, 1000);
+        framesUntilChange(OVER_BUDGET_NANOS, 1000);
+        framesUntilChange(UNDER_BUDGET_NANOS, 2000);
+
+        // Full quality holds for the longest backoff, so the next raise waits the normal time again
+        frames(UNDER_BUDGET_NANOS, 16 * 300);
+        framesUntilChange(OVER_BUDGET_NANOS, 1000);
+        int frames = framesUntilChange(UNDER_BUDGET_NANOS, 1000);
+        assertEquals(RenderQuality.FULL, budget.getQuality());
+        assertTrue("raised after " + frames + " frames", frames >= 300 && frames < 400);
+    }
+
+    @Test
+    public void noBudgetRestoresFull()
+    {
+        framesUntilChange(OVER_BUDGET_NANOS, 1000);
+
+        budget.update(new long[]{OVER_BUDGET_NANOS}, 0);
+        assertEquals(RenderQuality.FULL, budget.getQuality());
+    }
+
+    private void frames(long nanos, int count)
+    {
+        long[] layers = {nanos / 2, nanos / 2};
+        for (int i = 0; i < count; i++)
+        {
+            budget.update(layers, BUDGET_MICROS);
+        }
+    }
+
+    // Frames until the quality changes, fails if it doesn't within max
+    private int framesUntilChange(long nanos, int max)
+    {
+        RenderQuality start = budget.getQuality();
+        for (int i = 1; i <= max; i++)
+        {
+            frames(nanos, 1);
+            if (budget.getQuality() != start)
+            {
+                return i;
+            }
+        }
+        throw new AssertionError("Quality stayed " + start + " for " + max + " frames");
+    }
+}
@@ -0,0 +1,113 @@
+package com.BarracudaTrials.overlay;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+Proxy implementations of RuneLite interfaces for overlay tests. Methods return
+the value set with with(), or a default for their return type (zero, false,
+first enum constant, null). Return values are boxed once up front so calls
+with no arguments don't allocate. An Answer computes the value from the call's
+arguments instead.
+*/
+final class Stub
+{
+    private final Map<String, Object> values = new HashMap<>();
+    private final Map<Method, Object> defaults = new HashMap<>();
+    private Boolean defaultBoolean = Boolean.FALSE;
+
+    interface Answer
+    {
+        Object answer(Object[] args);
+    }
+
+    Stub with(String method, Object value)
+    {
+        values.put(method, value);
+        return this;
+    }
+
+    // Config stubs turn every overlay option on
+    Stub withDefaultBoolean(boolean value)
+    {
+        defaultBoolean = value;
+        return this;
+    }
+
+    <T> T build(Class<T> type)
+    {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) ->
+        {
+            switch (method.getName())
+            {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + " stub";
+            }
+
+            Object value = values.get(method.getName());
+            if (value instanceof Answer)
+            {
+                return ((Answer) value).answer(args);
+            }
+            if (value != null)
+            {
+                return value;
+            }
+
+            value = defaults.get(method);
+            if (value == null && !defaults.containsKey(method))
+            {
+                value = defaultValue(method.getReturnType());
+                defaults.put(method, value);
+            }
+            return value;
+        }));
+    }
+
+    private Object defaultValue(Class<?> type)
+    {
+        if (type == boolean.class)
+        {
+            return defaultBoolean;
+        }
+        if (type == int.class)
+        {
+            return 0;
+        }
+        if (type == long.class)
+        {
+            return 0L;
+        }
+        if (type == double.class)
+        {
+            return 0d;
+        }
+        if (type == float.class)
+        {
+            return 0f;
+        }
+        if (type == short.class)
+        {
+            return (short) 0;
+        }
+        if (type == byte.class)
+        {
+            return (byte) 0;
+        }
+        if (type == char.class)
+        {
+            return (char) 0;
+        }
+        if (type.isEnum())
+        {
+            return type.getEnumConstants()[0];
+        }
+        return null;
+    }
+}
@@ -0,0 +1,137 @@
+package com.BarracudaTrials.route;
+
+import com.BarracudaTrials.model.Difficulty;
+import com.BarracudaTrials.model.RouteVariant;
+import com.BarracudaTrials.model.Trial;
+import com.BarracudaTrials.util.RouteResources;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeNotNull;
+import static org.junit.Assume.assumeTrue;
+
+// The pack compiled by compileRoutePack has to read back the same records as the JSON it was built from
+public class RoutePackReaderTest
+{
+    @Test
+    public void packMatchesJsonFiles() throws IOException
+    {
+        RoutePack pack = RoutePackReader.load();
+        assumeNotNull(pack);
+
+        RouteRegistry registry = new RouteRegistry();
+        assumeTrue(registry.isAvailable());
+
+        int compared = 0;
+        for (Trial trial : Trial.values())
+        {
+            for (Difficulty difficulty : Difficulty.values())
+            {
+                RouteKey key = RouteKey.of(trial, difficulty, RouteVariant.WIKI);
+                for (RouteFile file : RouteFile.values())
+                {
+                    if (!registry.hasFile(key, file))
+                    {
+                        continue;
+                    }
+
+                    String path = RouteResources.buildRoutePath(trial, difficulty, RouteVariant.WIKI, file.getFileName());
+                    InputStream in = RoutePackReaderTest.class.getResourceAsStream(path);
+                    assertNotNull(path, in);
+
+                    RouteJsonReader.Result json;
+                    try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8))
+                    {
+                        json = RouteJsonReader.read(reader, file);
+                    }
+                    assertTrue(path + " " + json.errors, json.errors.isEmpty());
+
+                    PackedRecords packed = pack.get(key, file);
+                    assertNotNull(path, packed);
+                    assertSameRecords(path, file, json.records, packed);
+                    compared++;
+                }
+            }
+        }
+        assertTrue(compared > 0);
+    }
+
+    @Test
+    public void jsonReaderSkipsOutOfRangeOrders() throws IOException
+    {
+        String json = "[{\"regionId\": 12850, \"regionX\": 1, \"regionY\": 2, \"z\": 0, \"order\": 100000},"
+                + "{\"regionId\": 12850, \"regionX\": 1, \"regionY\": 2, \"z\": 0, \"order\": -5},"
+                + "{\"regionId\": 12850, \"regionX\": 1, \"regionY\": 2, \"z\": 0, \"order\": 3}]";
+
+        RouteJsonReader.Result result = RouteJsonReader.read(new StringReader(json), RouteFile.RAPIDS);
+        assertEquals(2, result.errors.size());
+        assertEquals(1, result.records.size());
+        assertEquals(3, result.records.getOrder(0));
+    }
+
+    @Test
+    public void packReaderRejectsOutOfRangeOrders() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(RoutePackReader.MAGIC);
+        data.writeShort(RoutePackReader.VERSION);
+        data.writeInt(1);
+        data.writeUTF("gwenith_glide");
+        data.writeUTF("swordfish");
+        data.writeUTF("wiki");
+        data.writeByte(RouteFile.RAPIDS.ordinal());
+        data.writeByte(RouteFile.RAPIDS.getFieldCount());
+        data.writeInt(1);
+        data.writeInt(1);
+        data.writeInt(100000);
+        data.writeInt(0);
+        data.writeInt(1);
+        for (int field = 0; field < RouteFile.RAPIDS.getFieldCount(); field++)
+        {
+            data.writeInt(0);
+        }
+
+        try
+        {
+            RoutePackReader.read(bytes.toByteArray());
+            fail("Read a pack with order 100000");
+        }
+        catch (IOException expected)
+        {
+            assertTrue(expected.getMessage(), expected.getMessage().contains("100000"));
+        }
+    }
+
+    private static void assertSameRecords(String path, RouteFile file, PackedRecords expected, PackedRecords actual)
+    {
+        assertEquals(path, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            for (int field = 0; field < file.getFieldCount(); field++)
+            {
+                assertEquals(path + " record " + i, expected.get(i, field), actual.get(i, field));
+            }
+        }
+
+        assertEquals(path, expected.getOrderCount(), actual.getOrderCount());
+        for (int o = 0; o < expected.getOrderCount(); o++)
+        {
+            assertEquals(path, expected.getOrder(o), actual.getOrder(o));
+            assertEquals(path, expected.getOrderStart(o), actual.getOrderStart(o));
+            assertEquals(path, expected.getOrderLength(o), actual.getOrderLength(o));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.BarracudaTrials.route;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TileSetTest
+{
+    // Same tolerances as TileSet.DETAIL_TOLERANCE
+    private static final double[] DETAIL_TOLERANCE = {1, 2, 4};
+
+    // Test coordinates are relative to this world tile
+    private static final int BASE = 3200;
+
+    @Test
+    public void straightLineKeepsOnlyEndpoints()
+    {
+        TileSet line = tiles(1, 0, 0, 1, 0, 2, 0, 3, 0, 4, 0, 5, 0);
+
+        TileSet simplified = line.simplify(0.5);
+        assertEquals(2, simplified.size());
+        assertPoint(simplified, 0, 0, 0);
+        assertPoint(simplified, 1, 5, 0);
+    }
+
+    @Test
+    public void keepsCornersFartherThanTolerance()
+    {
+        // An L with a 1 tile bump on the first leg
+        TileSet path = tiles(1, 0, 0, 1, 0, 2, 1, 3, 0, 4, 0, 5, 0, 5, 1, 5, 2, 5, 3);
+
+        TileSet coarse = path.simplify(1);
+        assertEquals(3, coarse.size());
+        assertPoint(coarse, 1, 5, 0);
+
+        TileSet fine = path.simplify(0.5);
+        assertEquals(5, fine.size());
+        assertPoint(fine, 1, 2, 1);
+    }
+
+    @Test
+    public void keepsOrderEndpointsAndPlaneChanges()
+    {
+        TileSet path = merge(
+                tiles(1, 0, 0, 1, 0, 2, 0, 3, 0),
+                tiles(2, 3, 0, 4, 0, 5, 0, 6, 0));
+        path = withPlane(path, 6, 1);
+
+        TileSet simplified = path.simplify(1);
+        assertEquals(0, simplified.start(1));
+        assertEquals(2, simplified.end(1));
+        assertEquals(2, simplified.start(2));
+        assertEquals(simplified.size(), simplified.end(2));
+
+        // Order 2 goes 3 -> 4 on plane 0, then 5 -> 6 on plane 1
+        assertEquals(6, simplified.size());
+        assertPoint(simplified, 3, 4, 0);
+        assertPoint(simplified, 4, 5, 0);
+        assertEquals(1, simplified.getPlane(4));
+    }
+
+    @Test
+    public void noToleranceKeepsEveryPoint()
+    {
+        TileSet line = tiles(1, 0, 0, 1, 0, 2, 0);
+        assertSame(line, line.simplify(0));
+    }
+
+    @Test
+    public void detailLevelsMatchSimplify()
+    {
+        Random random = new Random(1);
+        int[] xy = new int[2 * 400];
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < 400; i++)
+        {
+            x += random.nextInt(5) - 1;
+            y += random.nextInt(5) - 2;
+            xy[2 * i] = x;
+            xy[2 * i + 1] = y;
+        }
+
+        TileSet path = merge(
+                tiles(1, Arrays.copyOfRange(xy, 0, 300)),
+                tiles(2, Arrays.copyOfRange(xy, 300, xy.length)));
+        TileSet levels = path.withDetailLevels();
+        assertEquals(path.size(), levels.size());
+
+        for (int level = 1; level <= TileSet.DETAIL_LEVELS; level++)
+        {
+            TileSet simplified = path.simplify(DETAIL_TOLERANCE[level - 1]);
+
+            int kept = 0;
+            for (int i = 0; i < levels.size(); i++)
+            {
+                if (levels.getDetail(i) >= level)
+                {
+                    assertPoint(simplified, kept, levels.getX(i) - BASE, levels.getY(i) - BASE);
+                    kept++;
+                }
+            }
+            assertEquals("level " + level, simplified.size(), kept);
+        }
+
+        // Both ends of every order are drawn at every level
+        assertEquals(TileSet.DETAIL_LEVELS, levels.getDetail(levels.start(1)));
+        assertEquals(TileSet.DETAIL_LEVELS, levels.getDetail(levels.end(1) - 1));
+        assertEquals(TileSet.DETAIL_LEVELS, levels.getDetail(levels.start(2)));
+        assertEquals(TileSet.DETAIL_LEVELS, levels.getDetail(levels.end(2) - 1));
+    }
+
+    private static void assertPoint(TileSet tiles, int i, int x, int y)
+    {
+        assertEquals("x of " + i, BASE + x, tiles.getX(i));
+        assertEquals("y of " + i, BASE + y, tiles.getY(i));
+    }
+
+    // Route records for one order on plane 0 from x, y pairs
+    private static TileSet tiles(int order, int... xy)
+    {
+        List<int[]> rows = new ArrayList<>();
+        for (int i = 0; i < xy.length; i += 2)
+        {
+            rows.add(row(BASE + xy[i], BASE + xy[i + 1], 0, order));
+        }
+        return TileSet.of(pack(rows));
+    }
+
+    private static TileSet merge(TileSet... sets)
+    {
+        List<int[]> rows = new ArrayList<>();
+        for (TileSet set : sets)
+        {
+            for (int i = 0; i < set.size(); i++)
+            {
+                rows.add(row(set.getX(i), set.getY(i), set.getPlane(i), orderOf(set, i)));
+            }
+        }
+        return TileSet.of(pack(rows));
+    }
+
+    // Moves points from index first on to another plane
+    private static TileSet withPlane(TileSet set, int first, int plane)
+    {
+        List<int[]> rows = new ArrayList<>();
+        for (int i = 0; i < set.size(); i++)
+        {
+            rows.add(row(set.getX(i), set.getY(i), i >= first ? plane : set.getPlane(i), orderOf(set, i)));
+        }
+        return TileSet.of(pack(rows));
+    }
+
+    private static int orderOf(TileSet set, int i)
+    {
+        for (int order = 0; order <= RouteFile.MAX_ORDER; order++)
+        {
+            if (i >= set.start(order) && i < set.end(order))
+            {
+                return order;
+            }
+        }
+        throw new IllegalArgumentException("No order for " + i);
+    }
+
+    private static int[] row(int x, int y, int plane, int order)
+    {
+        return new int[]{((x >> 6) << 8) | (y >> 6), x & 63, y & 63, plane, order};
+    }
+
+    // Rows must already be sorted by order
+    private static PackedRecords pack(List<int[]> rows)
+    {
+        int fieldCount = RouteFile.ROUTE.getFieldCount();
+        int orderField = RouteFile.ROUTE.getOrderField();
+        int[] values = new int[rows.size() * fieldCount];
+        int[] orders = new int[rows.size() * 3];
+        int orderCount = 0;
+        for (int i = 0; i < rows.size(); i++)
+        {
+            int[] row = rows.get(i);
+            System.arraycopy(row, 0, values, i * fieldCount, fieldCount);
+            if (orderCount == 0 || orders[(orderCount - 1) * 3] != row[orderField])
+            {
+                orders[orderCount * 3] = row[orderField];
+                orders[orderCount * 3 + 1] = i;
+                orderCount++;
+            }
+            orders[(orderCount - 1) * 3 + 2]++;
+        }
+        return new PackedRecords(fieldCount, rows.size(), values, Arrays.copyOf(orders, orderCount * 3));
+    }
+}